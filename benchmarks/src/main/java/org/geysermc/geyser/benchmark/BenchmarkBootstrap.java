@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.nukkitx.protocol.bedrock.BedrockServerSession;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import lombok.Getter;
+import org.geysermc.common.PlatformType;
+import org.geysermc.geyser.GeyserBootstrap;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.command.CommandManager;
+import org.geysermc.geyser.configuration.GeyserJacksonConfiguration;
+import org.geysermc.geyser.dump.BootstrapDumpInfo;
+import org.geysermc.geyser.network.MinecraftProtocol;
+import org.geysermc.geyser.ping.IGeyserPingPassthrough;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.auth.BedrockClientData;
+import org.geysermc.geyser.text.GeyserLocale;
+import org.geysermc.geyser.util.ChunkUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Starts Geyser without a Bedrock listener so benchmarks can run translators against real registries.
+ * Sessions created here are not connected to anything - packets sent to the client are dropped.
+ */
+public final class BenchmarkBootstrap implements GeyserBootstrap {
+    private static BenchmarkBootstrap instance;
+
+    @Getter
+    private final BenchmarkConfiguration geyserConfig;
+    @Getter
+    private final BenchmarkLogger geyserLogger = new BenchmarkLogger();
+    @Getter
+    private final Path configFolder;
+
+    private BenchmarkBootstrap() {
+        try (InputStream stream = GeyserBootstrap.class.getClassLoader().getResourceAsStream("config.yml")) {
+            this.geyserConfig = new ObjectMapper(new YAMLFactory()).readValue(stream, BenchmarkConfiguration.class);
+            this.configFolder = Files.createTempDirectory("geyser-benchmarks");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts Geyser if it hasn't been started already in this JVM.
+     */
+    public static synchronized GeyserImpl start() {
+        if (instance == null) {
+            instance = new BenchmarkBootstrap();
+            GeyserLocale.init(instance);
+            GeyserImpl.setShouldStartListener(false);
+            GeyserImpl.start(PlatformType.STANDALONE, instance);
+        }
+        return GeyserImpl.getInstance();
+    }
+
+    /**
+     * Creates a session that has spawned in the overworld, as if it had just joined with the latest Bedrock version.
+     */
+    public static GeyserSession createSession() {
+        GeyserImpl geyser = start();
+
+        // Stub only, so that the mock doesn't remember every packet that is sent
+        BedrockServerSession bedrockSession = mock(BedrockServerSession.class, withSettings().stubOnly());
+        when(bedrockSession.getPacketCodec()).thenReturn(MinecraftProtocol.DEFAULT_BEDROCK_CODEC);
+        EventLoop eventLoop = new DefaultEventLoop();
+
+        GeyserSession session = new GeyserSession(geyser, bedrockSession, eventLoop);
+        try {
+            session.setClientData(GeyserImpl.JSON_MAPPER.readValue("{\"LanguageCode\":\"en_US\"}", BedrockClientData.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int protocolVersion = MinecraftProtocol.DEFAULT_BEDROCK_CODEC.getProtocolVersion();
+        session.setBlockMappings(BlockRegistries.BLOCKS.forVersion(protocolVersion));
+        session.setItemMappings(Registries.ITEMS.forVersion(protocolVersion));
+
+        // Overworld dimension, as sent in the Java login packet
+        session.getChunkCache().setExtendedHeight(true);
+        session.getChunkCache().setMinY(ChunkUtils.MINIMUM_ACCEPTED_HEIGHT_OVERWORLD);
+        session.getChunkCache().setHeightY(ChunkUtils.MAXIMUM_ACCEPTED_HEIGHT_OVERWORLD);
+        BenchmarkData.loadBiomes(session);
+        return session;
+    }
+
+    @Override
+    public void onEnable() {
+    }
+
+    @Override
+    public void onDisable() {
+    }
+
+    @Override
+    public CommandManager getGeyserCommandManager() {
+        return null;
+    }
+
+    @Override
+    public IGeyserPingPassthrough getGeyserPingPassthrough() {
+        return null;
+    }
+
+    @Override
+    public BootstrapDumpInfo getDumpInfo() {
+        return new BootstrapDumpInfo();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class BenchmarkConfiguration extends GeyserJacksonConfiguration {
+        @Override
+        public Path getFloodgateKeyPath() {
+            return Paths.get(getFloodgateKeyFile());
+        }
+    }
+}
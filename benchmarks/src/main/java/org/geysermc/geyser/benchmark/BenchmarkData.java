@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.ChunkSection;
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.github.steveice10.mc.protocol.data.game.level.LightUpdateData;
+import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityInfo;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.packetlib.io.NetOutput;
+import com.github.steveice10.packetlib.io.stream.StreamNetOutput;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic, seeded Java data for benchmarks, so that results can be compared between runs and machines.
+ */
+public final class BenchmarkData {
+    /**
+     * The overworld section count of a 1.18 world, from Y -64 to Y 320.
+     */
+    public static final int OVERWORLD_SECTIONS = 24;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Assigns Java biome IDs in the order of Geyser's biome mappings, like a vanilla server's dimension codec would.
+     */
+    public static void loadBiomes(GeyserSession session) {
+        List<String> identifiers = new ArrayList<>(Registries.BIOME_IDENTIFIERS.get().keySet());
+        Collections.sort(identifiers);
+
+        Int2IntMap biomeTranslations = session.getBiomeTranslations();
+        biomeTranslations.clear();
+        for (int javaId = 0; javaId < identifiers.size(); javaId++) {
+            biomeTranslations.put(javaId, Registries.BIOME_IDENTIFIERS.get().getInt(identifiers.get(javaId)));
+        }
+        biomeTranslations.defaultReturnValue(biomeTranslations.get(0));
+        session.setBiomeGlobalPalette(MathUtils.getGlobalPaletteForSize(identifiers.size()));
+    }
+
+    public static int javaBlockState(String identifier) {
+        Integer state = BlockRegistries.JAVA_IDENTIFIERS.get(identifier);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown block state " + identifier);
+        }
+        return state;
+    }
+
+    /**
+     * Creates a chunk with stone and ores underground, a grass surface at Y 64 and scattered decoration, including
+     * waterlogged blocks and Bedrock-only block entities.
+     */
+    public static ClientboundLevelChunkWithLightPacket createChunkPacket(GeyserSession session, int chunkX, int chunkZ, long seed) {
+        Random random = new Random(seed);
+        int biomeGlobalPalette = session.getBiomeGlobalPalette();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NetOutput out = new StreamNetOutput(bytes);
+        try {
+            for (int sectionY = 0; sectionY < OVERWORLD_SECTIONS; sectionY++) {
+                ChunkSection.write(out, createSection(sectionY, biomeGlobalPalette, random), biomeGlobalPalette);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LightUpdateData lightData = new LightUpdateData(new BitSet(), new BitSet(), new BitSet(), new BitSet(),
+                Collections.emptyList(), Collections.emptyList(), true);
+        return new ClientboundLevelChunkWithLightPacket(chunkX, chunkZ, bytes.toByteArray(), new CompoundTag(""),
+                new BlockEntityInfo[0], lightData);
+    }
+
+    /**
+     * @param sectionY the index of this section, where 0 is the bottom of the world
+     */
+    public static ChunkSection createSection(int sectionY, int biomeGlobalPalette, Random random) {
+        Terrain terrain = Terrain.INSTANCE;
+        ChunkSection section = new ChunkSection(0, DataPalette.createForChunk(), DataPalette.createForBiome(biomeGlobalPalette));
+
+        int minY = (sectionY << 4) - 64;
+        for (int y = 0; y < 16; y++) {
+            int blockY = minY + y;
+            if (blockY > 65) {
+                // Sky
+                break;
+            }
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    int state;
+                    if (blockY < 0) {
+                        state = random.nextInt(40) == 0 ? terrain.deepslateDiamondOre : terrain.deepslate;
+                    } else if (blockY < 60) {
+                        int roll = random.nextInt(64);
+                        state = roll == 0 ? terrain.ironOre : roll == 1 ? terrain.coalOre : terrain.stone;
+                    } else if (blockY < 64) {
+                        state = terrain.dirt;
+                    } else if (blockY == 64) {
+                        state = terrain.grass;
+                    } else {
+                        int roll = random.nextInt(128);
+                        if (roll == 0) {
+                            state = terrain.waterloggedStairs;
+                        } else if (roll == 1) {
+                            state = terrain.flowerPot;
+                        } else if (roll < 24) {
+                            state = terrain.tallGrass;
+                        } else {
+                            continue;
+                        }
+                    }
+                    section.setBlock(x, y, z, state);
+                }
+            }
+        }
+
+        // Biomes are stored in 4x4x4 cells
+        for (int y = 0; y < 4; y++) {
+            for (int z = 0; z < 4; z++) {
+                for (int x = 0; x < 4; x++) {
+                    section.getBiomeData().set(x, y, z, random.nextInt(4));
+                }
+            }
+        }
+        return section;
+    }
+
+    private static final class Terrain {
+        private static final Terrain INSTANCE = new Terrain();
+
+        private final int stone = javaBlockState("minecraft:stone");
+        private final int deepslate = javaBlockState("minecraft:deepslate[axis=y]");
+        private final int deepslateDiamondOre = javaBlockState("minecraft:deepslate_diamond_ore");
+        private final int ironOre = javaBlockState("minecraft:iron_ore");
+        private final int coalOre = javaBlockState("minecraft:coal_ore");
+        private final int dirt = javaBlockState("minecraft:dirt");
+        private final int grass = javaBlockState("minecraft:grass_block[snowy=false]");
+        private final int tallGrass = javaBlockState("minecraft:grass");
+        private final int flowerPot = javaBlockState("minecraft:potted_dandelion");
+        private final int waterloggedStairs = javaBlockState("minecraft:oak_stairs[facing=north,half=bottom,shape=straight,waterlogged=true]");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.item;
+
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.benchmark.BenchmarkBootstrap;
+import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.registry.type.ItemMappings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the mappings of Bedrock items, as done for every inventory transaction, against the linear scan the index
+ * replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMappingLookupBenchmark {
+    private static final int ITEMS = 1024;
+
+    private ItemMappings mappings;
+    private ItemData[] items;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        mappings = BenchmarkBootstrap.createSession().getItemMappings();
+
+        List<ItemData> all = new ArrayList<>();
+        for (ItemMapping mapping : mappings.getItems()) {
+            if (mapping.getBedrockId() != 0) {
+                all.add(ItemData.builder()
+                        .id(mapping.getBedrockId())
+                        .damage(mapping.getBedrockData())
+                        .blockRuntimeId(mapping.getBedrockBlockId() == -1 ? 0 : mapping.getBedrockBlockId())
+                        .count(1)
+                        .build());
+            }
+        }
+        Collections.shuffle(all, new Random(0));
+
+        items = new ItemData[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            items[i] = all.get(i % all.size());
+        }
+    }
+
+    @Benchmark
+    public ItemMapping index() {
+        return mappings.getMapping(items[index++ & (ITEMS - 1)]);
+    }
+
+    @Benchmark
+    public ItemMapping linearScan() {
+        return scan(items[index++ & (ITEMS - 1)]);
+    }
+
+    /**
+     * How {@link ItemMappings#getMapping(ItemData)} used to find mappings.
+     */
+    private ItemMapping scan(ItemData data) {
+        int id = data.getId();
+        boolean isBlock = data.getBlockRuntimeId() != 0;
+        boolean hasDamage = data.getDamage() != 0;
+
+        for (ItemMapping mapping : mappings.getItems()) {
+            if (mapping.getBedrockId() == id) {
+                if (isBlock && !hasDamage) {
+                    if (data.getBlockRuntimeId() != mapping.getBedrockBlockId()) {
+                        continue;
+                    }
+                } else {
+                    if (!(mapping.getBedrockData() == data.getDamage() ||
+                            (mapping.getJavaIdentifier().endsWith("potion") || mapping.getJavaIdentifier().equals("minecraft:arrow")
+                                    || mapping.getJavaIdentifier().equals("minecraft:firework_star")))) {
+                        continue;
+                    }
+                }
+                if (!mappings.getJavaOnlyItems().contains(mapping.getJavaIdentifier())) {
+                    return mapping;
+                }
+            }
+        }
+        return ItemMapping.AIR;
+    }
+}
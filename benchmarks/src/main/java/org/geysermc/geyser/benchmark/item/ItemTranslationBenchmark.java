@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.item;
+
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.ShortTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.benchmark.BenchmarkBootstrap;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.inventory.item.ItemTranslator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemTranslationBenchmark {
+    private GeyserSession session;
+    private ItemStack plainItem;
+    private ItemStack enchantedItem;
+
+    @Setup
+    public void setup() {
+        session = BenchmarkBootstrap.createSession();
+
+        plainItem = new ItemStack(javaId("minecraft:stone"), 64);
+
+        CompoundTag nbt = new CompoundTag("");
+        CompoundTag display = new CompoundTag("display");
+        display.put(new StringTag("Name", "{\"text\":\"Excalibur\",\"color\":\"gold\",\"italic\":false}"));
+        ListTag lore = new ListTag("Lore");
+        lore.add(new StringTag("", "{\"text\":\"Pulled from a stone\",\"color\":\"gray\"}"));
+        display.put(lore);
+        nbt.put(display);
+        ListTag enchantments = new ListTag("Enchantments");
+        enchantments.add(enchantment("minecraft:sharpness", 5));
+        enchantments.add(enchantment("minecraft:unbreaking", 3));
+        enchantments.add(enchantment("minecraft:mending", 1));
+        nbt.put(enchantments);
+        enchantedItem = new ItemStack(javaId("minecraft:diamond_sword"), 1, nbt);
+    }
+
+    private int javaId(String identifier) {
+        return session.getItemMappings().getMapping(identifier).getJavaId();
+    }
+
+    private static CompoundTag enchantment(String id, int level) {
+        CompoundTag tag = new CompoundTag("");
+        tag.put(new StringTag("id", id));
+        tag.put(new ShortTag("lvl", (short) level));
+        return tag;
+    }
+
+    @Benchmark
+    public ItemData plain() {
+        return ItemTranslator.translateToBedrock(session, plainItem);
+    }
+
+    @Benchmark
+    public ItemData enchanted() {
+        return ItemTranslator.translateToBedrock(session, enchantedItem);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.level;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import org.geysermc.geyser.benchmark.BenchmarkBootstrap;
+import org.geysermc.geyser.benchmark.BenchmarkData;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.level.BiomeTranslator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BiomeTranslationBenchmark {
+    private GeyserSession session;
+    private DataPalette[] biomes;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        session = BenchmarkBootstrap.createSession();
+
+        Random random = new Random(0);
+        biomes = new DataPalette[BenchmarkData.OVERWORLD_SECTIONS];
+        for (int i = 0; i < biomes.length; i++) {
+            biomes[i] = BenchmarkData.createSection(i, session.getBiomeGlobalPalette(), random).getBiomeData();
+        }
+    }
+
+    @Benchmark
+    public BlockStorage toNewBedrockBiome() {
+        DataPalette biomeData = biomes[index++ % biomes.length];
+        return BiomeTranslator.toNewBedrockBiome(session, biomeData);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.level;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockStorageBenchmark {
+    /**
+     * Bedrock bits per entry, from a handful of block types up to a large palette.
+     */
+    @Param({"1", "4", "5", "8", "16"})
+    public int bits;
+
+    private BlockStorage storage;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        BitArrayVersion version = BitArrayVersion.forBitsCeil(bits);
+        int paletteSize = Math.min(1 << bits, 1024);
+
+        Random random = new Random(0);
+        BitArray bitArray = version.createArray(BlockStorage.SIZE);
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            bitArray.set(i, random.nextInt(paletteSize));
+        }
+        IntList palette = new IntArrayList(paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            palette.add(random.nextInt(10000));
+        }
+
+        storage = new BlockStorage(bitArray, palette);
+        buffer = ByteBufAllocator.DEFAULT.ioBuffer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf writeToNetwork() {
+        buffer.clear();
+        storage.writeToNetwork(buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.level;
+
+import org.geysermc.geyser.benchmark.BenchmarkBootstrap;
+import org.geysermc.geyser.benchmark.BenchmarkData;
+import org.geysermc.geyser.level.chunk.CompactSection;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block lookups and updates against a chunk cache filled with a view distance of overworld chunks, shared between
+ * a few players. The estimated heap per player is printed after each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkCacheBenchmark {
+    private static final int VIEW_DISTANCE = 8;
+    private static final int PLAYERS = 4;
+
+    private final GeyserSession[] sessions = new GeyserSession[PLAYERS];
+    private ChunkCache chunkCache;
+    private int[] positions;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        for (int player = 0; player < PLAYERS; player++) {
+            GeyserSession session = BenchmarkBootstrap.createSession();
+            BenchmarkData.loadBiomes(session);
+            ChunkCache cache = session.getChunkCache();
+            cache.setMinY(-64);
+            cache.setHeightY(384);
+
+            // Every player sees the same world, so their sections can be shared
+            for (int chunkX = -VIEW_DISTANCE; chunkX <= VIEW_DISTANCE; chunkX++) {
+                for (int chunkZ = -VIEW_DISTANCE; chunkZ <= VIEW_DISTANCE; chunkZ++) {
+                    Random random = new Random(chunkX * 31L + chunkZ);
+                    CompactSection[] sections = new CompactSection[BenchmarkData.OVERWORLD_SECTIONS];
+                    for (int sectionY = 0; sectionY < sections.length; sectionY++) {
+                        sections[sectionY] = CompactSection.from(BenchmarkData.createSection(sectionY,
+                                session.getBiomeGlobalPalette(), random).getChunkData());
+                    }
+                    cache.addToCache(chunkX, chunkZ, sections);
+                }
+            }
+            sessions[player] = session;
+        }
+        chunkCache = sessions[0].getChunkCache();
+
+        Random random = new Random(0);
+        positions = new int[1024 * 3];
+        int range = (VIEW_DISTANCE * 2 + 1) << 4;
+        for (int i = 0; i < positions.length; i += 3) {
+            positions[i] = random.nextInt(range) - (VIEW_DISTANCE << 4);
+            positions[i + 1] = random.nextInt(384) - 64;
+            positions[i + 2] = random.nextInt(range) - (VIEW_DISTANCE << 4);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Set<CompactSection> sections = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GeyserSession session : sessions) {
+            session.getChunkCache().collectSections(sections);
+        }
+        long bytes = 0;
+        for (CompactSection section : sections) {
+            bytes += section.estimateMemoryUsage();
+        }
+        System.out.println("Estimated chunk cache heap per player: " + (bytes / PLAYERS) + " bytes");
+    }
+
+    @Benchmark
+    public int getBlockAt() {
+        int i = (index++ & 1023) * 3;
+        return chunkCache.getBlockAt(positions[i], positions[i + 1], positions[i + 2]);
+    }
+
+    @Benchmark
+    public void updateBlock() {
+        int i = (index++ & 1023) * 3;
+        chunkCache.updateBlock(positions[i], positions[i + 1], positions[i + 2], index & 0xFF);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.level;
+
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+import org.geysermc.geyser.benchmark.BenchmarkBootstrap;
+import org.geysermc.geyser.benchmark.BenchmarkData;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.level.chunk.ChunkSectionCache;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.protocol.java.level.JavaLevelChunkWithLightTranslator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Translates full overworld chunks, including building and serializing the Bedrock chunk packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkTranslationBenchmark {
+    private static final int CHUNKS = 16;
+
+    /**
+     * Megabytes of the shared section cache. With the cache enabled, every section after the first round is a hit.
+     */
+    @Param({"0", "32"})
+    public int sectionCacheSize;
+
+    private final JavaLevelChunkWithLightTranslator translator = new JavaLevelChunkWithLightTranslator();
+    private GeyserSession session;
+    private ClientboundLevelChunkWithLightPacket[] packets;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        session = BenchmarkBootstrap.createSession();
+
+        GeyserConfiguration config = mock(GeyserConfiguration.class);
+        when(config.getChunkSectionCacheSize()).thenReturn(sectionCacheSize);
+        ChunkSectionCache.init(config);
+
+        packets = new ClientboundLevelChunkWithLightPacket[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            packets[i] = BenchmarkData.createChunkPacket(session, i & 3, i >> 2, i);
+        }
+    }
+
+    @Benchmark
+    public void translate() {
+        translator.translate(session, packets[index++ & (CHUNKS - 1)]);
+    }
+}
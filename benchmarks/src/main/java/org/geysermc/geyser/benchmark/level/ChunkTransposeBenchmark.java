@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.level;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.BitStorage;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.geysermc.geyser.util.ChunkUtils.indexYZXtoXZY;
+import static org.geysermc.geyser.util.ChunkUtils.unpackJavaData;
+
+/**
+ * Compares converting a paletted Java chunk section to Bedrock's coordinate order one entry at a time against
+ * the word-level bulk transpose.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkTransposeBenchmark {
+    /**
+     * Java bits per entry - 4 is the minimum for blocks, and 5 and 6 map to padded Bedrock arrays.
+     */
+    @Param({"4", "5", "6", "8"})
+    public int bits;
+
+    private BitStorage javaData;
+    private BitArrayVersion bedrockVersion;
+
+    @Setup
+    public void setup() {
+        javaData = new BitStorage(bits, BlockStorage.SIZE);
+        bedrockVersion = BitArrayVersion.forBitsCeil(bits);
+
+        Random random = new Random(0);
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            javaData.set(i, random.nextInt(1 << bits));
+        }
+    }
+
+    @Benchmark
+    public void perEntry(Blackhole blackhole) {
+        BitArray bedrockData = bedrockVersion.createArray(BlockStorage.SIZE);
+        for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+            bedrockData.set(indexYZXtoXZY(yzx), javaData.get(yzx));
+        }
+        blackhole.consume(bedrockData);
+    }
+
+    @Benchmark
+    public void bulk(Blackhole blackhole) {
+        BitArray bedrockData = bedrockVersion.createArray(BlockStorage.SIZE);
+        int[] javaValues = new int[BlockStorage.SIZE];
+        unpackJavaData(javaData.getData(), javaData.getBitsPerEntry(), javaValues);
+        bedrockData.setAllFromYZX(javaValues);
+        blackhole.consume(bedrockData);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.physics;
+
+import com.nukkitx.math.vector.Vector3d;
+import org.geysermc.geyser.benchmark.BenchmarkBootstrap;
+import org.geysermc.geyser.benchmark.BenchmarkData;
+import org.geysermc.geyser.level.physics.BoundingBox;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.protocol.java.level.JavaLevelChunkWithLightTranslator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves a player across the decorated grass surface of a synthetic chunk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final double PLAYER_STEP_UP = 0.6;
+
+    private GeyserSession session;
+    private BoundingBox playerBoundingBox;
+
+    @Setup
+    public void setup() {
+        session = BenchmarkBootstrap.createSession();
+        new JavaLevelChunkWithLightTranslator().translate(session, BenchmarkData.createChunkPacket(session, 0, 0, 0));
+
+        // Standing on the grass layer at Y 64
+        playerBoundingBox = new BoundingBox(8, 65 + 0.9, 8, 0.6, 1.8, 0.6);
+    }
+
+    @Benchmark
+    public Vector3d walk() {
+        return session.getCollisionManager().correctMovement(Vector3d.from(0.2, -0.08, 0.1), playerBoundingBox.clone(),
+                true, PLAYER_STEP_UP, true);
+    }
+
+    @Benchmark
+    public Vector3d fall() {
+        return session.getCollisionManager().correctMovement(Vector3d.from(0, -1.5, 0), playerBoundingBox.clone(),
+                false, PLAYER_STEP_UP, true);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+package org.geysermc.geyser.benchmark.session;
+
+import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Looks up sessions the way Floodgate and the commands do, on a server with many players online.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionLookupBenchmark {
+    @Param({"500", "2000"})
+    public int sessions;
+
+    private SessionManager sessionManager;
+    private String[] names;
+    private String[] xuids;
+
+    @Setup
+    public void setup() {
+        sessionManager = new SessionManager();
+        names = new String[sessions];
+        xuids = new String[sessions];
+        for (int i = 0; i < sessions; i++) {
+            names[i] = "Player" + i;
+            xuids[i] = String.valueOf(2535400000000000L + i);
+            UUID uuid = new UUID(0, 2535400000000000L + i);
+
+            PlayerEntity playerEntity = mock(PlayerEntity.class, withSettings().stubOnly());
+            when(playerEntity.getUuid()).thenReturn(uuid);
+            when(playerEntity.getUsername()).thenReturn(names[i]);
+
+            GeyserSession session = mock(GeyserSession.class, withSettings().stubOnly());
+            when(session.name()).thenReturn(names[i]);
+            when(session.xuid()).thenReturn(xuids[i]);
+            when(session.getPlayerEntity()).thenReturn(playerEntity);
+
+            sessionManager.addPendingSession(session);
+            // Leave some sessions pending, like players that are still logging in
+            if (i % 10 != 0) {
+                sessionManager.addSession(uuid, session);
+            }
+        }
+    }
+
+    @Benchmark
+    public GeyserSession byName() {
+        return sessionManager.sessionByName(names[ThreadLocalRandom.current().nextInt(sessions)]);
+    }
+
+    @Benchmark
+    public GeyserSession byXuid() {
+        return sessionManager.sessionByXuid(xuids[ThreadLocalRandom.current().nextInt(sessions)]);
+    }
+
+    /**
+     * How connections used to be found by name, for comparison.
+     */
+    @Benchmark
+    public GeyserSession byNameScan() {
+        String name = names[ThreadLocalRandom.current().nextInt(sessions)];
+        for (GeyserSession session : sessionManager.getAllSessions()) {
+            if (session.name().equals(name)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (GeyserSession session : sessionManager.getAllSessions()) {
+            blackhole.consume(session);
+        }
+    }
+}
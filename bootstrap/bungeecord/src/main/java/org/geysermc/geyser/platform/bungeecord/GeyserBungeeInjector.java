@@ -37,11 +37,13 @@ import net.md_5.bungee.api.config.ListenerInfo;
 import net.md_5.bungee.api.event.ProxyReloadEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.compress.PacketCompressor;
 import net.md_5.bungee.event.EventHandler;
 import net.md_5.bungee.netty.PipelineUtils;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.GeyserBootstrap;
 import org.geysermc.geyser.network.netty.GeyserInjector;
+import org.geysermc.geyser.network.netty.LocalCompressionDisabler;
 import org.geysermc.geyser.network.netty.LocalServerChannelWrapper;
 import org.geysermc.geyser.network.netty.LocalSession;
 
@@ -140,6 +142,13 @@ public class GeyserBungeeInjector extends GeyserInjector implements Listener {
                             channelInitializer = PipelineUtils.SERVER_CHILD;
                         }
                         initChannel.invoke(channelInitializer, ch);
+                        // Bungee sets the threshold after adding the compressor, so it has to be changed afterwards
+                        ch.pipeline().addFirst(LocalCompressionDisabler.NAME, new LocalCompressionDisabler("compress", (encoder, threshold) -> {
+                            if (!(encoder instanceof PacketCompressor compressor)) {
+                                throw new IllegalStateException("Unknown compressor " + encoder.getClass().getName());
+                            }
+                            compressor.setThreshold(threshold);
+                        }));
                     }
                 })
                 .childAttr(listener, listenerInfo)
@@ -34,11 +34,13 @@ import io.netty.util.concurrent.DefaultThreadFactory;
 import org.bukkit.Bukkit;
 import org.geysermc.geyser.GeyserBootstrap;
 import org.geysermc.geyser.network.netty.GeyserInjector;
+import org.geysermc.geyser.network.netty.LocalCompressionDisabler;
 import org.geysermc.geyser.network.netty.LocalServerChannelWrapper;
 import org.geysermc.geyser.network.netty.LocalSession;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.net.InetAddress;
 import java.util.List;
@@ -119,6 +121,8 @@ public class GeyserSpigotInjector extends GeyserInjector {
                     @Override
                     protected void initChannel(Channel ch) throws Exception {
                         initChannel.invoke(childHandler, ch);
+                        ch.pipeline().addFirst(LocalCompressionDisabler.NAME,
+                                new LocalCompressionDisabler("compress", GeyserSpigotInjector::setCompressionThreshold));
                     }
                 })
                 // Set to MAX_PRIORITY as MultithreadEventLoopGroup#newDefaultThreadFactory which DefaultEventLoopGroup implements does by default
@@ -163,6 +167,33 @@ public class GeyserSpigotInjector extends GeyserInjector {
         return childHandler;
     }
 
+    /**
+     * Sets the threshold of the server's compression encoder, which is named setThreshold with Mojang mappings.
+     * With Spigot mappings, it is the only method of the encoder that takes an int.
+     */
+    private static void setCompressionThreshold(ChannelHandler encoder, int threshold) throws ReflectiveOperationException {
+        Method setter;
+        try {
+            setter = encoder.getClass().getMethod("setThreshold", int.class);
+        } catch (NoSuchMethodException e) {
+            setter = null;
+            for (Method method : encoder.getClass().getDeclaredMethods()) {
+                if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() == void.class
+                        && method.getParameterCount() == 1 && method.getParameterTypes()[0] == int.class) {
+                    if (setter != null) {
+                        throw new NoSuchMethodException("More than one possible threshold setter in " + encoder.getClass().getName());
+                    }
+                    setter = method;
+                }
+            }
+            if (setter == null) {
+                throw new NoSuchMethodException("No threshold setter in " + encoder.getClass().getName());
+            }
+        }
+        setter.setAccessible(true);
+        setter.invoke(encoder, threshold);
+    }
+
     /**
      * Work around an odd bug where the first connection might not initialize all channel handlers on the main pipeline -
      * send a dummy status request down that acts as the first connection, then.
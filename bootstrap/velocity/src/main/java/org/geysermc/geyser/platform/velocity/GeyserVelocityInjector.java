@@ -31,6 +31,7 @@ import io.netty.channel.*;
 import io.netty.channel.local.LocalAddress;
 import org.geysermc.geyser.GeyserBootstrap;
 import org.geysermc.geyser.network.netty.GeyserInjector;
+import org.geysermc.geyser.network.netty.LocalCompressionDisabler;
 import org.geysermc.geyser.network.netty.LocalServerChannelWrapper;
 
 import java.lang.reflect.Field;
@@ -69,7 +70,15 @@ public class GeyserVelocityInjector extends GeyserInjector {
 
         ChannelFuture channelFuture = (new ServerBootstrap()
                 .channel(LocalServerChannelWrapper.class)
-                .childHandler(channelInitializer)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(channelInitializer);
+                        // MinecraftCompressorAndLengthEncoder
+                        ch.pipeline().addFirst(LocalCompressionDisabler.NAME, new LocalCompressionDisabler("compression-encoder",
+                                (encoder, threshold) -> encoder.getClass().getMethod("setThreshold", int.class).invoke(encoder, threshold)));
+                    }
+                })
                 .group(bossGroup, workerGroup) // Cannot be DefaultEventLoopGroup
                 .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, serverWriteMark) // Required or else rare network freezes can occur
                 .localAddress(LocalAddress.ANY))
@@ -55,11 +55,12 @@ import org.geysermc.geyser.command.CommandManager;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.entity.EntityDefinitions;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.level.chunk.ChunkEncoder;
+import org.geysermc.geyser.level.chunk.ChunkSectionCache;
 import org.geysermc.geyser.network.ConnectorServerEventHandler;
 import org.geysermc.geyser.pack.ResourcePack;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionManager;
@@ -69,6 +70,7 @@ import org.geysermc.geyser.skin.SkinProvider;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.translator.inventory.item.ItemTranslator;
+import org.geysermc.geyser.translator.protocol.metrics.TranslatorMetrics;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.*;
 
@@ -205,7 +207,9 @@ public class GeyserImpl implements GeyserApi {
         GeyserConfiguration config = bootstrap.getGeyserConfig();
         logger.setDebug(config.isDebugMode());
 
-        ScoreboardUpdater.init();
+        ChunkSectionCache.init(config);
+        ChunkEncoder.init(config);
+        TranslatorMetrics.init(config);
 
         SkinProvider.registerCacheImageTask(this);
 
@@ -463,13 +467,7 @@ public class GeyserImpl implements GeyserApi {
 
     @Override
     public @Nullable GeyserSession connectionByName(@NonNull String name) {
-        for (GeyserSession session : sessionManager.getAllSessions()) {
-            if (session.name().equals(name) || session.getProtocol().getProfile().getName().equals(name)) {
-                return session;
-            }
-        }
-
-        return null;
+        return this.sessionManager.sessionByName(name);
     }
 
     @Override
@@ -484,13 +482,7 @@ public class GeyserImpl implements GeyserApi {
 
     @Override
     public @Nullable GeyserSession connectionByXuid(@NonNull String xuid) {
-        for (GeyserSession session : sessionManager.getAllSessions()) {
-            if (session.xuid().equals(xuid)) {
-                return session;
-            }
-        }
-
-        return null;
+        return this.sessionManager.sessionByXuid(xuid);
     }
 
     @Override
@@ -510,6 +502,9 @@ public class GeyserImpl implements GeyserApi {
             skinUploader.close();
         }
         newsHandler.shutdown();
+        SkinProvider.saveCaches();
+        ChunkEncoder.shutdown();
+        TranslatorMetrics.shutdown();
         this.getCommandManager().getCommands().clear();
 
         ResourcePack.PACKS.clear();
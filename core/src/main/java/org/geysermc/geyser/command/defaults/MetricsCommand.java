@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.command.CommandSender;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.text.ChatColor;
+import org.geysermc.geyser.text.GeyserLocale;
+import org.geysermc.geyser.translator.protocol.metrics.LatencyHistogram;
+import org.geysermc.geyser.translator.protocol.metrics.PacketMetrics;
+import org.geysermc.geyser.translator.protocol.metrics.TranslatorMetrics;
+
+import java.util.List;
+
+/**
+ * Shows which packet translators have taken the most time, for the whole proxy or a single player.
+ */
+public class MetricsCommand extends GeyserCommand {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final GeyserImpl geyser;
+
+    public MetricsCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission);
+
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void execute(GeyserSession session, CommandSender sender, String[] args) {
+        if (!TranslatorMetrics.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + GeyserLocale.getPlayerLocaleString("geyser.commands.metrics.disabled", sender.getLocale()));
+            return;
+        }
+
+        TranslatorMetrics metrics = TranslatorMetrics.global();
+        String target = null;
+        int limit = DEFAULT_LIMIT;
+        for (String arg : args) {
+            try {
+                limit = Math.max(1, Integer.parseInt(arg));
+                continue;
+            } catch (NumberFormatException ignored) {
+            }
+
+            GeyserSession player = findSession(arg);
+            if (player == null) {
+                sender.sendMessage(ChatColor.RED + GeyserLocale.getPlayerLocaleString("geyser.commands.metrics.no_player", sender.getLocale(), arg));
+                return;
+            }
+            metrics = player.getTranslatorMetrics();
+            target = player.name();
+        }
+
+        List<PacketMetrics> slowest = metrics.getSlowest(limit);
+        if (target == null) {
+            sender.sendMessage(ChatColor.YELLOW + GeyserLocale.getPlayerLocaleString("geyser.commands.metrics.header_all", sender.getLocale()));
+        } else {
+            sender.sendMessage(ChatColor.YELLOW + GeyserLocale.getPlayerLocaleString("geyser.commands.metrics.header_player", sender.getLocale(), target));
+        }
+        for (PacketMetrics packet : slowest) {
+            LatencyHistogram latency = packet.getLatency();
+            sender.sendMessage(ChatColor.AQUA + packet.getPacketClass().getSimpleName() + ChatColor.RESET + ": "
+                    + GeyserLocale.getPlayerLocaleString("geyser.commands.metrics.entry", sender.getLocale(),
+                    latency.getCount(), formatNanos(latency.getTotalNanos()), formatNanos((long) latency.getMeanNanos()),
+                    formatNanos(latency.getValueAtPercentile(99)), formatNanos(latency.getMaxNanos()),
+                    formatBytes((long) packet.getMeanAllocatedBytes())));
+        }
+    }
+
+    private GeyserSession findSession(String name) {
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            if (session.name().equalsIgnoreCase(name)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        } else if (nanos < 1_000_000) {
+            return String.format("%.1fus", nanos / 1_000D);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000D);
+        }
+        return String.format("%.2fs", nanos / 1_000_000_000D);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1fKB", bytes / 1024D);
+        }
+        return String.format("%.1fMB", bytes / (1024D * 1024D));
+    }
+}
@@ -101,6 +101,10 @@ public interface GeyserConfiguration {
 
     boolean isAllowCustomSkulls();
 
+    int getMaxVisibleCustomSkulls();
+
+    int getCustomSkullRenderDistance();
+
     IMetricsInfo getMetrics();
 
     int getPendingAuthenticationTimeout();
@@ -176,6 +180,24 @@ public interface GeyserConfiguration {
 
     int getMtu();
 
+    boolean isEnableClientCache();
+
+    int getChunkSectionCacheSize();
+
+    int getChunkEncodingThreads();
+
+    boolean isEnableTranslatorMetrics();
+
+    int getTranslatorMetricsPort();
+
+    boolean isUseSubChunkRequests();
+
+    int getEntityUpdateCullingDistance();
+
+    int getEntityUpdateCullingInterval();
+
+    List<String> getPreloadLocales();
+
     boolean isUseDirectConnection();
 
     int getConfigVersion();
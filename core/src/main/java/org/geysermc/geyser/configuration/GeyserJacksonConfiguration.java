@@ -130,6 +130,12 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("allow-custom-skulls")
     private boolean allowCustomSkulls = true;
 
+    @JsonProperty("max-visible-custom-skulls")
+    private int maxVisibleCustomSkulls = 128;
+
+    @JsonProperty("custom-skull-render-distance")
+    private int customSkullRenderDistance = 32;
+
     @JsonProperty("add-non-bedrock-items")
     private boolean addNonBedrockItems = true;
 
@@ -253,6 +259,33 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("mtu")
     private int mtu = 1400;
 
+    @JsonProperty("enable-client-cache")
+    private boolean enableClientCache = false;
+
+    @JsonProperty("chunk-section-cache-size")
+    private int chunkSectionCacheSize = 32;
+
+    @JsonProperty("chunk-encoding-threads")
+    private int chunkEncodingThreads = 0;
+
+    @JsonProperty("enable-translator-metrics")
+    private boolean enableTranslatorMetrics = false;
+
+    @JsonProperty("translator-metrics-port")
+    private int translatorMetricsPort = -1;
+
+    @JsonProperty("use-sub-chunk-requests")
+    private boolean useSubChunkRequests = false;
+
+    @JsonProperty("entity-update-culling-distance")
+    private int entityUpdateCullingDistance = -1;
+
+    @JsonProperty("entity-update-culling-interval")
+    private int entityUpdateCullingInterval = 3;
+
+    @JsonProperty("preload-locales")
+    private List<String> preloadLocales = Collections.emptyList();
+
     @JsonProperty("use-direct-connection")
     private boolean useDirectConnection = true;
 
@@ -36,8 +36,12 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.skin.SharedSkinData;
 import org.geysermc.geyser.text.AsteriskSerializer;
+import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.level.chunk.ChunkEncoder;
+import org.geysermc.geyser.level.chunk.CompactSection;
 import org.geysermc.geyser.network.MinecraftProtocol;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.FileUtils;
@@ -54,10 +58,18 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Getter
@@ -76,6 +88,10 @@ public class DumpInfo {
     private LogsInfo logsInfo;
     private final BootstrapDumpInfo bootstrapInfo;
     private final FlagsInfo flagsInfo;
+    private final ChunkEncodingInfo chunkEncodingInfo;
+    private final ChunkCacheInfo chunkCacheInfo;
+    private final MessageCacheInfo messageCacheInfo;
+    private final SkinInfo skinInfo;
 
     public DumpInfo(boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -125,6 +141,11 @@ public class DumpInfo {
         this.bootstrapInfo = GeyserImpl.getInstance().getBootstrap().getDumpInfo();
 
         this.flagsInfo = new FlagsInfo();
+
+        this.chunkEncodingInfo = new ChunkEncodingInfo();
+        this.chunkCacheInfo = new ChunkCacheInfo();
+        this.messageCacheInfo = new MessageCacheInfo();
+        this.skinInfo = new SkinInfo();
     }
 
     @Getter
@@ -277,4 +298,106 @@ public class DumpInfo {
             this.flags = ManagementFactory.getRuntimeMXBean().getInputArguments();
         }
     }
+
+    @Getter
+    public static class ChunkEncodingInfo {
+        private final int threads;
+        private final int queueDepth;
+        private final int peakQueueDepth;
+        private final long encodedChunks;
+        private final long inlineSections;
+        private final double averageEncodeMillis;
+
+        ChunkEncodingInfo() {
+            this.threads = ChunkEncoder.getThreads();
+            this.queueDepth = ChunkEncoder.getQueueDepth();
+            this.peakQueueDepth = ChunkEncoder.getPeakQueueDepth();
+            this.encodedChunks = ChunkEncoder.getEncodedChunks();
+            this.inlineSections = ChunkEncoder.getInlineSections();
+            this.averageEncodeMillis = ChunkEncoder.getAverageEncodeMillis();
+        }
+    }
+
+    @Getter
+    public static class ChunkCacheInfo {
+        private final long cachedSections;
+        private final int distinctSections;
+        private final long estimatedBytes;
+        private final long estimatedBytesPerPlayer;
+        /**
+         * Sessions whose chunk cache couldn't be read in time, and which aren't part of the numbers above
+         */
+        private final int skippedSessions;
+
+        ChunkCacheInfo() {
+            Set<CompactSection> sections = Collections.newSetFromMap(new IdentityHashMap<>());
+            long cachedSections = 0;
+            int players = 0;
+            int skippedSessions = 0;
+            for (GeyserSession session : GeyserImpl.getInstance().getSessionManager().getAllSessions()) {
+                // The chunk cache is only safe to read on the session's event loop
+                List<CompactSection> sessionSections = new ArrayList<>();
+                if (session.getEventLoop().inEventLoop()) {
+                    // The dump is being made on this loop, for example by a Bedrock player, so a submitted task
+                    // couldn't run until we're done
+                    session.getChunkCache().collectSections(sessionSections);
+                } else {
+                    try {
+                        session.getEventLoop().submit(() -> session.getChunkCache().collectSections(sessionSections))
+                                .get(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        skippedSessions++;
+                        continue;
+                    } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+                        GeyserImpl.getInstance().getLogger().debug("Unable to read the chunk cache of " + session.name() + ": " + e);
+                        skippedSessions++;
+                        continue;
+                    }
+                }
+                cachedSections += sessionSections.size();
+                sections.addAll(sessionSections);
+                players++;
+            }
+
+            long estimatedBytes = 0;
+            for (CompactSection section : sections) {
+                estimatedBytes += section.estimateMemoryUsage();
+            }
+
+            this.cachedSections = cachedSections;
+            this.distinctSections = sections.size();
+            this.estimatedBytes = estimatedBytes;
+            this.estimatedBytesPerPlayer = players == 0 ? 0 : estimatedBytes / players;
+            this.skippedSessions = skippedSessions;
+        }
+    }
+
+    @Getter
+    public static class MessageCacheInfo {
+        private final long hits;
+        private final long misses;
+        private final long plainTextMessages;
+
+        MessageCacheInfo() {
+            this.hits = MessageTranslator.getRenderCacheHits();
+            this.misses = MessageTranslator.getRenderCacheMisses();
+            this.plainTextMessages = MessageTranslator.getPlainTextMessages();
+        }
+    }
+
+    @Getter
+    public static class SkinInfo {
+        private final long distinctImages;
+        private final long imageBytes;
+        private final long deduplicatedBytes;
+        private final long sharedSkins;
+
+        SkinInfo() {
+            this.distinctImages = SharedSkinData.getDistinctImages();
+            this.imageBytes = SharedSkinData.getImageBytes();
+            this.deduplicatedBytes = SharedSkinData.getDeduplicatedBytes();
+            this.sharedSkins = SharedSkinData.getSharedSkins();
+        }
+    }
 }
@@ -221,7 +221,7 @@ public class Entity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(false);
 
-        session.sendUpstreamPacket(moveEntityPacket);
+        session.getEntityCache().sendMovement(this, moveEntityPacket);
     }
 
     public void moveAbsolute(Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
@@ -243,7 +243,7 @@ public class Entity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(teleported);
 
-        session.sendUpstreamPacket(moveEntityPacket);
+        session.getEntityCache().sendMovement(this, moveEntityPacket);
     }
 
     /**
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * A bounded, proxy-wide pool for translating chunk sections in parallel.
+ * <p>
+ * Sections of a chunk are forked onto the pool and joined again by the session's event loop, so chunks are still
+ * sent in the same order relative to every other packet. Once too many sections are in flight across all sessions,
+ * the caller translates the rest of the chunk itself, which slows down the sessions flooding the pool instead of
+ * queueing unbounded work.
+ */
+public final class ChunkEncoder {
+    /**
+     * How many sections may be queued per pool thread before callers start translating sections themselves.
+     */
+    private static final int MAX_QUEUED_PER_THREAD = 64;
+
+    private static ForkJoinPool pool = null;
+    private static int maxInFlight = 0;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static final LongAdder encodedChunks = new LongAdder();
+    private static final LongAdder encodeNanos = new LongAdder();
+    private static final LongAdder inlineSections = new LongAdder();
+
+    private ChunkEncoder() {
+    }
+
+    public static void init(GeyserConfiguration config) {
+        shutdown();
+
+        int threads = config.getChunkEncodingThreads();
+        if (threads < 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        if (threads == 0) {
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("Geyser Chunk Encoder #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        maxInFlight = threads * MAX_QUEUED_PER_THREAD;
+    }
+
+    public static void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Runs the encoder for every set index and stores the results in the output array at the same index.
+     * Blocks until every index has been encoded.
+     */
+    public static <T> void encode(T[] output, BitSet indexes, IntFunction<T> encoder) {
+        long start = System.nanoTime();
+        ForkJoinPool pool = ChunkEncoder.pool;
+        int count = indexes.cardinality();
+        if (pool == null || count <= 1) {
+            // Not worth handing off a single section
+            for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+                output[i] = encoder.apply(i);
+            }
+        } else {
+            @SuppressWarnings("unchecked")
+            ForkJoinTask<T>[] tasks = new ForkJoinTask[output.length];
+            int forked = 0;
+            try {
+                for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+                    if (inFlight.get() >= maxInFlight) {
+                        // Backpressure - the pool is saturated, so do the work here
+                        inlineSections.increment();
+                        output[i] = encoder.apply(i);
+                        continue;
+                    }
+
+                    int index = i;
+                    int current = inFlight.incrementAndGet();
+                    peakInFlight.accumulateAndGet(current, Math::max);
+                    forked++;
+                    tasks[i] = pool.submit(() -> {
+                        try {
+                            return encoder.apply(index);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+                }
+            } finally {
+                if (forked != 0) {
+                    // Join everything that was submitted, even if translating inline failed
+                    for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+                        if (tasks[i] != null) {
+                            output[i] = tasks[i].join();
+                        }
+                    }
+                }
+            }
+        }
+
+        encodedChunks.increment();
+        encodeNanos.add(System.nanoTime() - start);
+    }
+
+    public static boolean isEnabled() {
+        return pool != null;
+    }
+
+    public static int getThreads() {
+        ForkJoinPool pool = ChunkEncoder.pool;
+        return pool == null ? 0 : pool.getParallelism();
+    }
+
+    /**
+     * @return the amount of sections currently waiting for or being translated by the pool
+     */
+    public static int getQueueDepth() {
+        return inFlight.get();
+    }
+
+    public static int getPeakQueueDepth() {
+        return peakInFlight.get();
+    }
+
+    public static long getEncodedChunks() {
+        return encodedChunks.sum();
+    }
+
+    /**
+     * @return how many sections were translated by the caller because the pool was saturated
+     */
+    public static long getInlineSections() {
+        return inlineSections.sum();
+    }
+
+    public static double getAverageEncodeMillis() {
+        long chunks = encodedChunks.sum();
+        return chunks == 0 ? 0 : (double) encodeNanos.sum() / chunks / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.util.XXHash64;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A proxy-wide cache of chunk sections that have already been translated to Bedrock and encoded.
+ * <p>
+ * Players in the same area receive the same Java chunk data, so instead of remapping and encoding the same section
+ * for every session, the encoded Bedrock section is looked up by a hash of the Java section's bytes.
+ * As Bedrock block runtime IDs differ between versions, entries are only valid for the block mappings they were
+ * translated with.
+ */
+public final class ChunkSectionCache {
+    private static Cache<Long, CachedSection> cache = null;
+
+    private ChunkSectionCache() {
+    }
+
+    public static void init(GeyserConfiguration config) {
+        int sizeMegabytes = config.getChunkSectionCacheSize();
+        if (sizeMegabytes <= 0) {
+            cache = null;
+            return;
+        }
+
+        cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .maximumWeight(sizeMegabytes * 1024L * 1024L)
+                .<Long, CachedSection>weigher((hash, section) -> section.javaData.length + section.bedrockData.length)
+                .build();
+    }
+
+    public static boolean isEnabled() {
+        return cache != null;
+    }
+
+    public static long hash(BlockMappings mappings, byte[] javaData, int offset, int length) {
+        return XXHash64.hash(javaData, offset, length, mappings.getBlockStateVersion());
+    }
+
+    /**
+     * @return the encoded Bedrock section if this exact Java section has been translated with these mappings before
+     */
+    @Nullable
+    public static byte[] get(BlockMappings mappings, long hash, byte[] javaData, int offset, int length) {
+        Cache<Long, CachedSection> cache = ChunkSectionCache.cache;
+        if (cache == null) {
+            return null;
+        }
+
+        CachedSection section = cache.getIfPresent(hash);
+        if (section == null || section.mappings != mappings) {
+            return null;
+        }
+        // Protect against hash collisions
+        if (!Arrays.equals(section.javaData, 0, section.javaData.length, javaData, offset, offset + length)) {
+            return null;
+        }
+        return section.bedrockData;
+    }
+
+    public static void put(BlockMappings mappings, long hash, byte[] javaData, int offset, int length, byte[] bedrockData) {
+        Cache<Long, CachedSection> cache = ChunkSectionCache.cache;
+        if (cache == null) {
+            return;
+        }
+
+        cache.put(hash, new CachedSection(mappings, Arrays.copyOfRange(javaData, offset, offset + length), bedrockData));
+    }
+
+    private record CachedSection(BlockMappings mappings, byte[] javaData, byte[] bedrockData) {
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.BitStorage;
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.GlobalPalette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.Palette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.SingletonPalette;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.geysermc.geyser.util.ChunkUtils;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A compact Java chunk section, as kept by the chunk cache. Data is packed the same way as Java Edition, so it can be
+ * taken from a chunk packet without copying.
+ * <p>
+ * Once interned, a section may be referenced by any number of sessions and can no longer be modified. Call
+ * {@link #mutableCopy()} to get a section that can be.
+ */
+public final class CompactSection {
+    private static final int MIN_BITS = 4;
+    private static final int MAX_PALETTE_BITS = 8;
+    /**
+     * Used once a palette grows too large. Enough for every Java block state.
+     */
+    private static final int DIRECT_BITS = 16;
+
+    private static final Interner<CompactSection> SECTIONS = Interners.newWeakInterner();
+    private static final Interner<StatePalette> PALETTES = Interners.newWeakInterner();
+
+    /**
+     * Null if block states are stored directly.
+     */
+    private StatePalette palette;
+    /**
+     * Null if the palette only holds one state.
+     */
+    private long[] data;
+    private int bitsPerEntry;
+    private volatile boolean shared;
+
+    private CompactSection(StatePalette palette, long[] data, int bitsPerEntry) {
+        this.palette = palette;
+        this.data = data;
+        this.bitsPerEntry = bitsPerEntry;
+    }
+
+    /**
+     * Wraps the contents of a Java section. The section must not be modified afterwards.
+     */
+    public static CompactSection from(DataPalette javaSection) {
+        Palette javaPalette = javaSection.getPalette();
+        if (javaPalette instanceof SingletonPalette) {
+            return singleton(javaPalette.idToState(0));
+        }
+
+        BitStorage storage = javaSection.getStorage();
+        if (javaPalette instanceof GlobalPalette) {
+            return new CompactSection(null, storage.getData(), storage.getBitsPerEntry());
+        }
+
+        int[] states = new int[javaPalette.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = javaPalette.idToState(i);
+        }
+        return new CompactSection(new StatePalette(states), storage.getData(), storage.getBitsPerEntry());
+    }
+
+    public static CompactSection singleton(int state) {
+        return new CompactSection(new StatePalette(new int[] {state}), null, 0);
+    }
+
+    public int get(int x, int y, int z) {
+        return get(index(x, y, z));
+    }
+
+    /**
+     * @param index the index of the block, in YZX order
+     */
+    public int get(int index) {
+        if (data == null) {
+            return palette.states[0];
+        }
+
+        int value = read(data, bitsPerEntry, index);
+        return palette == null ? value : palette.states[value];
+    }
+
+    public void set(int x, int y, int z, int state) {
+        if (shared) {
+            throw new IllegalStateException("Shared sections cannot be modified");
+        }
+
+        int value = palette == null ? state : palette.indexOf(state);
+        if (value == -1) {
+            value = addToPalette(state);
+        }
+        if (data == null) {
+            if (value == 0) {
+                // Still only one state
+                return;
+            }
+            repack(MIN_BITS);
+        }
+        write(data, bitsPerEntry, index(x, y, z), value);
+    }
+
+    /**
+     * @return the palette ID of the new state, or the state itself if the section now stores states directly
+     */
+    private int addToPalette(int state) {
+        int[] states = Arrays.copyOf(palette.states, palette.states.length + 1);
+        states[states.length - 1] = state;
+
+        int bits = Math.max(MIN_BITS, Integer.SIZE - Integer.numberOfLeadingZeros(states.length - 1));
+        if (bits > MAX_PALETTE_BITS) {
+            int[] values = new int[BlockStorage.SIZE];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = get(i);
+            }
+            this.palette = null;
+            this.data = pack(values, DIRECT_BITS);
+            this.bitsPerEntry = DIRECT_BITS;
+            return state;
+        }
+
+        if (data != null && bits != bitsPerEntry) {
+            repack(bits);
+        }
+        // Palettes can be shared with other sections, so they're replaced rather than modified
+        this.palette = new StatePalette(states);
+        return states.length - 1;
+    }
+
+    private void repack(int bits) {
+        int[] values = new int[BlockStorage.SIZE];
+        if (data != null) {
+            ChunkUtils.unpackJavaData(data, bitsPerEntry, values);
+        }
+        this.data = pack(values, bits);
+        this.bitsPerEntry = bits;
+    }
+
+    /**
+     * @return a modifiable copy of this section, which shares nothing that can change with this one
+     */
+    public CompactSection mutableCopy() {
+        return new CompactSection(palette, data == null ? null : data.clone(), bitsPerEntry);
+    }
+
+    /**
+     * @return an equal section that may be shared with other sessions. Neither this section nor the one returned may be
+     * modified afterwards.
+     */
+    public CompactSection intern() {
+        if (palette != null) {
+            palette = PALETTES.intern(palette);
+        }
+        shared = true;
+        return SECTIONS.intern(this);
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public boolean isSingleton() {
+        return data == null;
+    }
+
+    /**
+     * @return true if {@link #getData()} holds block states rather than palette IDs
+     */
+    public boolean isDirect() {
+        return palette == null;
+    }
+
+    public int getPaletteSize() {
+        return palette.states.length;
+    }
+
+    public int paletteIdToState(int id) {
+        return palette.states[id];
+    }
+
+    /**
+     * @return the packed data in Java's format, where entries never span two longs. Must not be modified.
+     */
+    public long[] getData() {
+        return data;
+    }
+
+    public int getBitsPerEntry() {
+        return bitsPerEntry;
+    }
+
+    /**
+     * @return a rough estimate of how many bytes of heap this section holds, including its palette
+     */
+    public long estimateMemoryUsage() {
+        long size = 32; // Object header and fields
+        if (palette != null) {
+            size += 32 + 4L * palette.states.length;
+        }
+        if (data != null) {
+            size += 16 + 8L * data.length;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactSection other)) {
+            return false;
+        }
+        return bitsPerEntry == other.bitsPerEntry && Objects.equals(palette, other.palette) && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * bitsPerEntry + Objects.hashCode(palette)) + Arrays.hashCode(data);
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    private static int read(long[] data, int bits, int index) {
+        int valuesPerLong = 64 / bits;
+        int shift = (index % valuesPerLong) * bits;
+        return (int) ((data[index / valuesPerLong] >>> shift) & ((1L << bits) - 1L));
+    }
+
+    private static void write(long[] data, int bits, int index, int value) {
+        int valuesPerLong = 64 / bits;
+        int shift = (index % valuesPerLong) * bits;
+        long mask = (1L << bits) - 1L;
+        int word = index / valuesPerLong;
+        data[word] = (data[word] & ~(mask << shift)) | ((value & mask) << shift);
+    }
+
+    private static long[] pack(int[] values, int bits) {
+        int valuesPerLong = 64 / bits;
+        long[] data = new long[(values.length + valuesPerLong - 1) / valuesPerLong];
+        for (int i = 0; i < values.length; i++) {
+            write(data, bits, i, values[i]);
+        }
+        return data;
+    }
+
+    /**
+     * An immutable list of block states, shared between every section with the same palette.
+     */
+    private static final class StatePalette {
+        private final int[] states;
+        private final int hash;
+
+        private StatePalette(int[] states) {
+            this.states = states;
+            this.hash = Arrays.hashCode(states);
+        }
+
+        private int indexOf(int state) {
+            for (int i = 0; i < states.length; i++) {
+                if (states[i] == state) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof StatePalette other && hash == other.hash && Arrays.equals(states, other.states));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
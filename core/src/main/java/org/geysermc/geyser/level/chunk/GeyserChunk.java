@@ -25,14 +25,38 @@
 
 package org.geysermc.geyser.level.chunk;
 
-import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.nukkitx.nbt.NbtMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import javax.annotation.Nullable;
+import java.util.List;
 
 /**
- * Acts as a lightweight chunk class that doesn't store biomes, heightmaps or block entities.
+ * Acts as a lightweight chunk class that doesn't store biomes or heightmaps.
+ *
+ * @param bedrockBlockEntities the translated block entities of this chunk by {@link #blockEntityIndex(int, int, int)},
+ *                             only kept if the client requests sub-chunks and the block entities have to be sent
+ *                             with them later
  */
-public record GeyserChunk(DataPalette[] sections) {
+public record GeyserChunk(CompactSection[] sections, @Nullable Int2ObjectMap<NbtMap> bedrockBlockEntities) {
+
+    public static GeyserChunk from(CompactSection[] sections) {
+        return new GeyserChunk(sections, null);
+    }
+
+    public static GeyserChunk from(CompactSection[] sections, List<NbtMap> bedrockBlockEntities) {
+        Int2ObjectMap<NbtMap> blockEntities = new Int2ObjectOpenHashMap<>(bedrockBlockEntities.size());
+        for (NbtMap blockEntity : bedrockBlockEntities) {
+            blockEntities.put(blockEntityIndex(blockEntity.getInt("x"), blockEntity.getInt("y"), blockEntity.getInt("z")), blockEntity);
+        }
+        return new GeyserChunk(sections, blockEntities);
+    }
 
-    public static GeyserChunk from(DataPalette[] sections) {
-        return new GeyserChunk(sections);
+    /**
+     * @return the key of the block entity at this position within its chunk
+     */
+    public static int blockEntityIndex(int x, int y, int z) {
+        return (y << 8) | ((z & 0xF) << 4) | (x & 0xF);
     }
 }
@@ -31,6 +31,10 @@ import io.netty.buffer.ByteBuf;
 public class GeyserChunkSection {
 
     private static final int CHUNK_SECTION_VERSION = 8;
+    /**
+     * Same as version 8, but also carries the section's Y index. Used when sections are sent one at a time.
+     */
+    private static final int SUB_CHUNK_SECTION_VERSION = 9;
 
     private final BlockStorage[] storage;
 
@@ -62,6 +66,20 @@ public class GeyserChunkSection {
         }
     }
 
+    /**
+     * Writes this section as a standalone sub-chunk.
+     *
+     * @param subChunkY the absolute Y index of this section, for example -4 for the bottom of the overworld
+     */
+    public void writeToNetwork(ByteBuf buffer, int subChunkY) {
+        buffer.writeByte(SUB_CHUNK_SECTION_VERSION);
+        buffer.writeByte(this.storage.length);
+        buffer.writeByte(subChunkY);
+        for (BlockStorage blockStorage : this.storage) {
+            blockStorage.writeToNetwork(buffer);
+        }
+    }
+
     public int estimateNetworkSize() {
         int size = 2; // Version + storage count
         for (BlockStorage blockStorage : this.storage) {
@@ -36,6 +36,14 @@ public interface BitArray {
 
     int size();
 
+    /**
+     * Sets every entry of a chunk section sized array from values in Java's YZX order, storing them in Bedrock's
+     * XZY order. Unlike calling {@link #set(int, int)} for each entry, whole words are built and written at once.
+     *
+     * @param yzxValues one value per block, each of which must fit within this array's bits per entry
+     */
+    void setAllFromYZX(int[] yzxValues);
+
     /**
      * Overridden if the bit array implementation does not require size.
      */
@@ -30,6 +30,8 @@ import org.geysermc.geyser.util.MathUtils;
 
 import java.util.Arrays;
 
+import static org.geysermc.geyser.util.ChunkUtils.indexYZXtoXZY;
+
 public class PaddedBitArray implements BitArray {
 
     /**
@@ -82,6 +84,23 @@ public class PaddedBitArray implements BitArray {
         return this.size;
     }
 
+    @Override
+    public void setAllFromYZX(int[] yzxValues) {
+        Preconditions.checkArgument(this.size == yzxValues.length, "Expected %s values", this.size);
+        int bits = this.version.bits;
+        int entriesPerWord = this.version.entriesPerWord;
+        for (int wordIndex = 0; wordIndex < this.words.length; wordIndex++) {
+            int xzy = wordIndex * entriesPerWord;
+            // The last word isn't completely filled
+            int entries = Math.min(entriesPerWord, this.size - xzy);
+            int word = 0;
+            for (int i = 0; i < entries; i++) {
+                word |= yzxValues[indexYZXtoXZY(xzy + i)] << (i * bits);
+            }
+            this.words[wordIndex] = word;
+        }
+    }
+
     @Override
     public int[] getWords() {
         return this.words;
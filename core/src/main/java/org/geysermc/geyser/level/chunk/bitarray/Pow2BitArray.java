@@ -30,6 +30,8 @@ import org.geysermc.geyser.util.MathUtils;
 
 import java.util.Arrays;
 
+import static org.geysermc.geyser.util.ChunkUtils.indexYZXtoXZY;
+
 public class Pow2BitArray implements BitArray {
 
     /**
@@ -81,6 +83,35 @@ public class Pow2BitArray implements BitArray {
         return this.words[arrayIndex] >>> wordOffset & this.version.maxEntryValue;
     }
 
+    @Override
+    public void setAllFromYZX(int[] yzxValues) {
+        Preconditions.checkArgument(this.size == yzxValues.length, "Expected %s values", this.size);
+        int bits = this.version.bits;
+        int entriesPerWord = this.version.entriesPerWord;
+        if (entriesPerWord > 16) {
+            // V1 - a word covers more than one column, so work out every index
+            for (int wordIndex = 0; wordIndex < this.words.length; wordIndex++) {
+                int xzy = wordIndex * entriesPerWord;
+                int word = 0;
+                for (int i = 0; i < entriesPerWord; i++) {
+                    word |= yzxValues[indexYZXtoXZY(xzy + i)] << (i * bits);
+                }
+                this.words[wordIndex] = word;
+            }
+            return;
+        }
+
+        // Every word is part of a single column, where only Y changes - and Y is the top nibble of a YZX index
+        for (int wordIndex = 0; wordIndex < this.words.length; wordIndex++) {
+            int yzx = indexYZXtoXZY(wordIndex * entriesPerWord);
+            int word = 0;
+            for (int i = 0; i < entriesPerWord; i++) {
+                word |= yzxValues[yzx + (i << 8)] << (i * bits);
+            }
+            this.words[wordIndex] = word;
+        }
+    }
+
     /**
      * Gets the long array that is used to store the data in this BitArray. This is useful for sending packet data.
      */
@@ -49,6 +49,10 @@ public class SingletonBitArray implements BitArray {
         return 1;
     }
 
+    @Override
+    public void setAllFromYZX(int[] yzxValues) {
+    }
+
     @Override
     public void writeSizeToNetwork(ByteBuf buffer, int size) {
         // no-op - size is fixed
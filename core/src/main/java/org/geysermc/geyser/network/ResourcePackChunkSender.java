@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+package org.geysermc.geyser.network;
+
+import com.nukkitx.protocol.bedrock.packet.ResourcePackChunkDataPacket;
+import com.nukkitx.protocol.bedrock.packet.ResourcePackChunkRequestPacket;
+import org.geysermc.geyser.pack.ResourcePack;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the resource pack chunks a session requests. Only a limited amount of sessions download at the same time, and
+ * each of them only gets a few chunks every tick, so a wave of joining players doesn't flood the network and heap.
+ */
+final class ResourcePackChunkSender {
+    /**
+     * How many sessions can download resource packs at the same time. Any others wait until one has finished.
+     */
+    private static final int MAX_CONCURRENT_DOWNLOADS = 32;
+    /**
+     * How many chunks a session is sent every 50 milliseconds - about 8 MB per second
+     */
+    private static final int CHUNKS_PER_TICK = 4;
+    private static final AtomicInteger DOWNLOADING = new AtomicInteger();
+
+    private final GeyserSession session;
+    /**
+     * Requested chunks that haven't been sent yet. Only accessed on the session's event loop.
+     */
+    private final Queue<ResourcePackChunkRequestPacket> requests = new ArrayDeque<>();
+    private final AtomicBoolean downloading = new AtomicBoolean();
+    private boolean scheduled;
+
+    /**
+     * The chunk that is most likely to be requested next, which is read before it is asked for.
+     */
+    private UUID nextPackId;
+    private int nextChunkIndex = -1;
+    private byte[] nextChunk;
+
+    ResourcePackChunkSender(GeyserSession session) {
+        this.session = session;
+    }
+
+    void request(ResourcePackChunkRequestPacket packet) {
+        session.executeInEventLoop(() -> {
+            requests.add(packet);
+            if (!scheduled) {
+                sendChunks();
+            }
+        });
+    }
+
+    /**
+     * Called once the session no longer needs any chunks, either because it has all packs or because it disconnected.
+     */
+    void finish() {
+        if (downloading.compareAndSet(true, false)) {
+            DOWNLOADING.decrementAndGet();
+        }
+    }
+
+    private void sendChunks() {
+        scheduled = false;
+        if (session.isClosed()) {
+            requests.clear();
+            finish();
+            return;
+        }
+
+        if (!downloading.get()) {
+            if (!tryStartDownload()) {
+                schedule();
+                return;
+            }
+            session.getUpstream().getSession().addDisconnectHandler(reason -> finish());
+        }
+
+        for (int i = 0; i < CHUNKS_PER_TICK && !requests.isEmpty(); i++) {
+            sendChunk(requests.poll());
+        }
+
+        if (!requests.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private boolean tryStartDownload() {
+        int downloading;
+        do {
+            downloading = DOWNLOADING.get();
+            if (downloading >= MAX_CONCURRENT_DOWNLOADS) {
+                return false;
+            }
+        } while (!DOWNLOADING.compareAndSet(downloading, downloading + 1));
+        this.downloading.set(true);
+        return true;
+    }
+
+    private void schedule() {
+        scheduled = true;
+        session.scheduleInEventLoop(this::sendChunks, 50, TimeUnit.MILLISECONDS);
+    }
+
+    private void sendChunk(ResourcePackChunkRequestPacket packet) {
+        ResourcePack pack = ResourcePack.PACKS.get(packet.getPackId().toString());
+        if (pack == null) {
+            return;
+        }
+
+        int chunkIndex = packet.getChunkIndex();
+        byte[] chunk;
+        if (packet.getPackId().equals(nextPackId) && chunkIndex == nextChunkIndex) {
+            chunk = nextChunk;
+        } else {
+            chunk = pack.getChunk(chunkIndex);
+        }
+
+        ResourcePackChunkDataPacket data = new ResourcePackChunkDataPacket();
+        data.setChunkIndex(chunkIndex);
+        data.setProgress((long) chunkIndex * ResourcePack.CHUNK_SIZE);
+        data.setPackVersion(packet.getPackVersion());
+        data.setPackId(packet.getPackId());
+        data.setData(chunk);
+        session.sendUpstreamPacket(data);
+
+        // The client asks for the chunks in order, so read the next one while this one is on its way
+        if (chunkIndex + 1 < pack.getChunkCount()) {
+            nextPackId = packet.getPackId();
+            nextChunkIndex = chunkIndex + 1;
+            nextChunk = pack.getChunk(nextChunkIndex);
+        } else {
+            nextPackId = null;
+            nextChunkIndex = -1;
+            nextChunk = null;
+        }
+    }
+}
@@ -43,13 +43,12 @@ import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.util.*;
 
-import java.io.FileInputStream;
-import java.io.InputStream;
-
 public class UpstreamPacketHandler extends LoggingPacketHandler {
+    private final ResourcePackChunkSender resourcePackChunkSender;
 
     public UpstreamPacketHandler(GeyserImpl geyser, GeyserSession session) {
         super(geyser, session);
+        this.resourcePackChunkSender = new ResourcePackChunkSender(session);
     }
 
     private boolean translateAndDefault(BedrockPacket packet) {
@@ -119,6 +118,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     public boolean handle(ResourcePackClientResponsePacket packet) {
         switch (packet.getStatus()) {
             case COMPLETED:
+                resourcePackChunkSender.finish();
                 if (geyser.getConfig().getRemote().getAuthType() != AuthType.ONLINE) {
                     session.authenticate(session.getAuthData().name());
                 } else if (!couldLoginUserByName(session.getAuthData().name())) {
@@ -136,8 +136,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
                     ResourcePackManifest.Header header = pack.getManifest().getHeader();
 
                     data.setPackId(header.getUuid());
-                    int chunkCount = (int) Math.ceil((int) pack.getFile().length() / (double) ResourcePack.CHUNK_SIZE);
-                    data.setChunkCount(chunkCount);
+                    data.setChunkCount(pack.getChunkCount());
                     data.setCompressedPackSize(pack.getFile().length());
                     data.setMaxChunkSize(ResourcePack.CHUNK_SIZE);
                     data.setHash(pack.getSha256());
@@ -150,6 +149,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
                 break;
 
             case HAVE_ALL_PACKS:
+                resourcePackChunkSender.finish();
                 ResourcePackStackPacket stackPacket = new ResourcePackStackPacket();
                 stackPacket.setExperimentsPreviouslyToggled(false);
                 stackPacket.setForcedToAccept(false); // Leaving this as false allows the player to choose to download or not
@@ -174,6 +174,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
                 break;
 
             default:
+                resourcePackChunkSender.finish();
                 session.disconnect("disconnectionScreen.resourcePack");
                 break;
         }
@@ -235,27 +236,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
 
     @Override
     public boolean handle(ResourcePackChunkRequestPacket packet) {
-        ResourcePackChunkDataPacket data = new ResourcePackChunkDataPacket();
-        ResourcePack pack = ResourcePack.PACKS.get(packet.getPackId().toString());
-
-        data.setChunkIndex(packet.getChunkIndex());
-        data.setProgress(packet.getChunkIndex() * ResourcePack.CHUNK_SIZE);
-        data.setPackVersion(packet.getPackVersion());
-        data.setPackId(packet.getPackId());
-
-        int offset = packet.getChunkIndex() * ResourcePack.CHUNK_SIZE;
-        byte[] packData = new byte[(int) MathUtils.constrain(pack.getFile().length() - offset, 0, ResourcePack.CHUNK_SIZE)];
-
-        try (InputStream inputStream = new FileInputStream(pack.getFile())) {
-            inputStream.skip(offset);
-            inputStream.read(packData, 0, packData.length);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        data.setData(packData);
-
-        session.sendUpstreamPacket(data);
+        resourcePackChunkSender.request(packet);
         return true;
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+package org.geysermc.geyser.network.netty;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Added by the injectors to the server end of a local channel, to stop the server from compressing packets sent to
+ * Geyser. Both ends are in the same JVM, so compressing is wasted work on both sides.
+ * <p>
+ * Servers set up compression after they have sent the set compression packet, so this waits until the compression
+ * encoder shows up and then raises its threshold so that every packet is sent uncompressed. The compressed packet
+ * format stays the same, so Geyser doesn't need to know about this.
+ */
+public final class LocalCompressionDisabler extends ChannelOutboundHandlerAdapter {
+    public static final String NAME = "geyser-compression-disabler";
+
+    private static final AtomicBoolean WARNED = new AtomicBoolean();
+
+    private final String encoderName;
+    private final ThresholdSetter thresholdSetter;
+
+    /**
+     * @param encoderName the name of the platform's compression encoder in the pipeline
+     * @param thresholdSetter sets the threshold of the platform's compression encoder
+     */
+    public LocalCompressionDisabler(String encoderName, ThresholdSetter thresholdSetter) {
+        this.encoderName = encoderName;
+        this.thresholdSetter = thresholdSetter;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        super.write(ctx, msg, promise);
+
+        ChannelHandler encoder = ctx.pipeline().get(encoderName);
+        if (encoder != null) {
+            try {
+                thresholdSetter.setThreshold(encoder, Integer.MAX_VALUE);
+            } catch (Exception e) {
+                if (WARNED.compareAndSet(false, true)) {
+                    GeyserImpl.getInstance().getLogger().warning("Unable to disable compression for direct connections, "
+                            + "packets to Geyser will still be compressed: " + e);
+                }
+            }
+            ctx.pipeline().remove(this);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThresholdSetter {
+        void setThreshold(ChannelHandler encoder, int threshold) throws Exception;
+    }
+}
@@ -25,13 +25,22 @@
 
 package org.geysermc.geyser.pack;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.text.GeyserLocale;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -50,8 +59,21 @@ public class ResourcePack {
      */
     public static final int CHUNK_SIZE = 102400;
 
+    private static final byte[] EMPTY_CHUNK = new byte[0];
+
     private byte[] sha256;
     private File file;
+    /**
+     * The pack file, mapped into memory once so chunk requests don't have to open it again
+     */
+    private ByteBuffer data;
+    /**
+     * Chunks that are still referenced by a packet being sent. Players that join at the same time download the same
+     * chunks at about the same time, so they can share them.
+     */
+    private final Cache<Integer, byte[]> chunks = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
     private ResourcePackManifest manifest;
     private ResourcePackManifest.Version version;
 
@@ -72,7 +94,16 @@ public class ResourcePack {
             if (file.getName().endsWith(".zip") || file.getName().endsWith(".mcpack")) {
                 ResourcePack pack = new ResourcePack();
 
-                pack.sha256 = FileUtils.calculateSHA256(file);
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    // The mapping stays valid after the channel is closed
+                    pack.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                    digest.update(pack.data.duplicate());
+                    pack.sha256 = digest.digest();
+                } catch (IOException | NoSuchAlgorithmException e) {
+                    GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.resource_pack.broken", file.getName()), e);
+                    continue;
+                }
 
                 Stream<? extends ZipEntry> stream = null;
                 try {
@@ -109,6 +140,37 @@ public class ResourcePack {
         }
     }
 
+    /**
+     * @return the amount of chunks this pack is sent to clients in
+     */
+    public int getChunkCount() {
+        return (data.capacity() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Gets a chunk of this pack. The returned array may be shared with other sessions and must not be modified.
+     *
+     * @param index the index of the chunk
+     * @return the chunk, which is empty if the index is out of range
+     */
+    public byte[] getChunk(int index) {
+        // The index comes from the client, so keep invalid ones away from the buffer and the cache
+        if (index < 0 || index >= getChunkCount()) {
+            return EMPTY_CHUNK;
+        }
+
+        try {
+            return chunks.get(index, () -> {
+                int offset = index * CHUNK_SIZE;
+                byte[] chunk = new byte[Math.min(data.capacity() - offset, CHUNK_SIZE)];
+                data.get(offset, chunk);
+                return chunk;
+            });
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     public byte[] getSha256() {
         return sha256;
     }
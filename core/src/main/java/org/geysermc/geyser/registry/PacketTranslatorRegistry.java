@@ -34,6 +34,7 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.geysermc.geyser.translator.protocol.metrics.TranslatorMetrics;
 import org.geysermc.geyser.text.GeyserLocale;
 
 import java.util.Collections;
@@ -83,7 +84,14 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         }
 
         try {
-            translator.translate(session, packet);
+            if (TranslatorMetrics.isEnabled()) {
+                long allocatedStart = TranslatorMetrics.allocatedBytes();
+                long start = System.nanoTime();
+                translator.translate(session, packet);
+                TranslatorMetrics.record(session, packet.getClass(), System.nanoTime() - start, TranslatorMetrics.allocatedBytes() - allocatedStart);
+            } else {
+                translator.translate(session, packet);
+            }
         } catch (Throwable ex) {
             GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.network.translator.packet.failed", packet.getClass().getSimpleName()), ex);
             ex.printStackTrace();
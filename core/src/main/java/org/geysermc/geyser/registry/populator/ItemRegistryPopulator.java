@@ -508,8 +508,10 @@ public class ItemRegistryPopulator {
                 furnaceMinecartData = new ComponentItemData("geysermc:furnace_minecart", builder.build());
             }
 
+            ItemMapping[] itemArray = mappings.toArray(new ItemMapping[0]);
             ItemMappings itemMappings = ItemMappings.builder()
-                    .items(mappings.toArray(new ItemMapping[0]))
+                    .items(itemArray)
+                    .bedrockIndex(new BedrockItemIndex(itemArray, javaOnlyItems))
                     .creativeItems(creativeItems.toArray(new ItemData[0]))
                     .itemEntries(List.copyOf(entries.values()))
                     .itemNames(itemNames.toArray(new String[0]))
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.type;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import javax.annotation.Nullable;
+import java.util.Set;
+
+/**
+ * Finds the {@link ItemMapping} of a Bedrock item without going through every mapping. When several mappings match,
+ * the one that comes first in the mappings array is returned.
+ */
+public final class BedrockItemIndex {
+    private final ItemMapping[] items;
+    /**
+     * (Bedrock ID, block runtime ID) to the position of the mapping in {@link #items}
+     */
+    private final Long2IntMap byBlockRuntimeId = new Long2IntOpenHashMap();
+    /**
+     * (Bedrock ID, damage) to the position of the mapping in {@link #items}
+     */
+    private final Long2IntMap byDamage = new Long2IntOpenHashMap();
+    /**
+     * Bedrock ID to the position of the first mapping that accepts any damage value.
+     * Potions, tipped arrows and firework stars store extra data in their damage.
+     */
+    private final Int2IntMap anyDamage = new Int2IntOpenHashMap();
+
+    /**
+     * @param javaOnlyItems items that can never be the result of a Bedrock item
+     */
+    public BedrockItemIndex(ItemMapping[] items, Set<String> javaOnlyItems) {
+        this.items = items;
+        byBlockRuntimeId.defaultReturnValue(-1);
+        byDamage.defaultReturnValue(-1);
+        anyDamage.defaultReturnValue(-1);
+
+        // Go backwards so earlier mappings replace later ones
+        for (int i = items.length - 1; i >= 0; i--) {
+            ItemMapping mapping = items[i];
+            if (mapping == null || javaOnlyItems.contains(mapping.getJavaIdentifier())) {
+                continue;
+            }
+
+            int id = mapping.getBedrockId();
+            byBlockRuntimeId.put(key(id, mapping.getBedrockBlockId()), i);
+            byDamage.put(key(id, mapping.getBedrockData()), i);
+
+            String javaIdentifier = mapping.getJavaIdentifier();
+            if (javaIdentifier.endsWith("potion") || javaIdentifier.equals("minecraft:arrow") || javaIdentifier.equals("minecraft:firework_star")) {
+                anyDamage.put(id, i);
+            }
+        }
+    }
+
+    @Nullable
+    public ItemMapping get(int id, int damage, int blockRuntimeId) {
+        if (blockRuntimeId != 0 && damage == 0) {
+            // Pre-1.16.220 will not use block runtime IDs at all, so we shouldn't check either
+            int index = byBlockRuntimeId.get(key(id, blockRuntimeId));
+            return index == -1 ? null : items[index];
+        }
+
+        int exact = byDamage.get(key(id, damage));
+        int any = anyDamage.get(id);
+        int index = exact == -1 ? any : (any == -1 ? exact : Math.min(exact, any));
+        return index == -1 ? null : items[index];
+    }
+
+    private static long key(int id, int value) {
+        return ((long) id << 32) | (value & 0xFFFFFFFFL);
+    }
+}
@@ -49,6 +49,10 @@ public class ItemMappings {
     Map<String, ItemMapping> cachedJavaMappings = new WeakHashMap<>();
 
     ItemMapping[] items;
+    /**
+     * Looks up {@link #items} from Bedrock item data.
+     */
+    BedrockItemIndex bedrockIndex;
 
     /**
      * A unique exception as this is an item in Bedrock, but not in Java.
@@ -124,28 +128,9 @@ public class ItemMappings {
             return lodestoneCompass;
         }
 
-        boolean isBlock = data.getBlockRuntimeId() != 0;
-        boolean hasDamage = data.getDamage() != 0;
-
-        for (ItemMapping mapping : this.items) {
-            if (mapping.getBedrockId() == id) {
-                if (isBlock && !hasDamage) { // Pre-1.16.220 will not use block runtime IDs at all, so we shouldn't check either
-                    if (data.getBlockRuntimeId() != mapping.getBedrockBlockId()) {
-                        continue;
-                    }
-                } else {
-                    if (!(mapping.getBedrockData() == data.getDamage() ||
-                            // Make exceptions for potions, tipped arrows, and firework stars, whose damage values can vary
-                            (mapping.getJavaIdentifier().endsWith("potion") || mapping.getJavaIdentifier().equals("minecraft:arrow")
-                                    || mapping.getJavaIdentifier().equals("minecraft:firework_star")))) {
-                        continue;
-                    }
-                }
-                if (!this.javaOnlyItems.contains(mapping.getJavaIdentifier())) {
-                    // From a Bedrock item data, we aren't getting one of these items
-                    return mapping;
-                }
-            }
+        ItemMapping mapping = this.bedrockIndex.get(id, data.getDamage(), data.getBlockRuntimeId());
+        if (mapping != null) {
+            return mapping;
         }
 
         // This will hide the message when the player clicks with an empty hand
@@ -27,10 +27,13 @@ package org.geysermc.geyser.scoreboard;
 
 import com.github.steveice10.mc.protocol.data.game.scoreboard.ScoreboardPosition;
 import com.github.steveice10.mc.protocol.data.game.scoreboard.TeamColor;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
@@ -49,6 +52,11 @@ public final class Objective {
     private int type = 0; // 0 = integer, 1 = heart
 
     private Map<String, Score> scores = new ConcurrentHashMap<>();
+    /**
+     * Scores that changed since this objective was last sent
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Set<Score> dirtyScores = new ObjectOpenHashSet<>();
 
     private Objective(Scoreboard scoreboard) {
         this.id = scoreboard.getNextId().getAndIncrement();
@@ -92,6 +100,7 @@ public final class Objective {
                     .setTeam(scoreboard.getTeamFor(id))
                     .setUpdateType(UpdateType.ADD);
             scores.put(id, scoreObject);
+            dirtyScores.add(scoreObject);
         }
     }
 
@@ -100,6 +109,7 @@ public final class Objective {
         if (stored != null) {
             stored.setScore(score)
                     .setUpdateType(UpdateType.UPDATE);
+            dirtyScores.add(stored);
             return;
         }
         registerScore(id, score);
@@ -109,6 +119,20 @@ public final class Objective {
         Score stored = scores.get(id);
         if (stored != null) {
             stored.setUpdateType(UpdateType.REMOVE);
+            dirtyScores.add(stored);
+        }
+    }
+
+    /**
+     * Makes sure the score of this entity is sent again on the next update, for example if its team changed.
+     */
+    void markScoreDirty(String id) {
+        if (scores == null) {
+            return;
+        }
+        Score stored = scores.get(id);
+        if (stored != null) {
+            dirtyScores.add(stored);
         }
     }
 
@@ -176,5 +200,6 @@ public final class Objective {
         active = false;
         updateType = UpdateType.REMOVE;
         scores = null;
+        dirtyScores.clear();
     }
 }
@@ -30,6 +30,7 @@ import com.nukkitx.protocol.bedrock.data.ScoreInfo;
 import com.nukkitx.protocol.bedrock.packet.RemoveObjectivePacket;
 import com.nukkitx.protocol.bedrock.packet.SetDisplayObjectivePacket;
 import com.nukkitx.protocol.bedrock.packet.SetScorePacket;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import lombok.Getter;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.GeyserLogger;
@@ -55,6 +56,18 @@ public final class Scoreboard {
     @Getter
     private final Map<ScoreboardPosition, Objective> objectiveSlots = new EnumMap<>(ScoreboardPosition.class);
     private final Map<String, Team> teams = new ConcurrentHashMap<>(); // updated on multiple threads
+    /**
+     * The team of every entity that is in one, so it doesn't have to be searched for in every team
+     */
+    private final Map<String, Team> entityTeams = new ConcurrentHashMap<>();
+    /**
+     * Teams that changed since the last update - all of their scores have to be sent again
+     */
+    private final Set<Team> dirtyTeams = new ObjectOpenHashSet<>();
+    /**
+     * Teams that have been prepared for the update in progress
+     */
+    private final List<Team> updatingTeams = new ArrayList<>();
 
     private int lastAddScoreCount = 0;
     private int lastRemoveScoreCount = 0;
@@ -132,10 +145,31 @@ public final class Scoreboard {
         team = new Team(this, teamName);
         team.addEntities(players);
         teams.put(teamName, team);
+        markTeamDirty(team);
         return team;
     }
 
+    void markTeamDirty(Team team) {
+        dirtyTeams.add(team);
+    }
+
+    void markTeamUpdating(Team team) {
+        updatingTeams.add(team);
+    }
+
+    /**
+     * Sends everything that changed since the last update to the client.
+     */
     public void onUpdate() {
+        for (Team team : dirtyTeams) {
+            for (Objective objective : objectives.values()) {
+                for (String entity : team.getEntities()) {
+                    objective.markScoreDirty(entity);
+                }
+            }
+        }
+        dirtyTeams.clear();
+
         List<ScoreInfo> addScores = new ArrayList<>(lastAddScoreCount);
         List<ScoreInfo> removeScores = new ArrayList<>(lastRemoveScoreCount);
         List<Objective> removedObjectives = new ArrayList<>();
@@ -176,15 +210,10 @@ public final class Scoreboard {
         handleObjective(correctSidebar, addScores, removeScores);
         handleObjective(objectiveSlots.get(ScoreboardPosition.BELOW_NAME), addScores, removeScores);
 
-        Iterator<Team> teamIterator = teams.values().iterator();
-        while (teamIterator.hasNext()) {
-            Team current = teamIterator.next();
-
-            switch (current.getCachedUpdateType()) {
-                case ADD, UPDATE -> current.markUpdated();
-                case REMOVE -> teamIterator.remove();
-            }
+        for (Team team : updatingTeams) {
+            team.markUpdated();
         }
+        updatingTeams.clear();
 
         if (!removeScores.isEmpty()) {
             SetScorePacket setScorePacket = new SetScorePacket();
@@ -211,7 +240,7 @@ public final class Scoreboard {
 
         // hearts can't hold teams, so we treat them differently
         if (objective.getType() == 1) {
-            for (Score score : objective.getScores().values()) {
+            for (Score score : objective.getDirtyScores()) {
                 boolean update = score.shouldUpdate();
 
                 if (update) {
@@ -225,18 +254,21 @@ public final class Scoreboard {
                     removeScores.add(score.getCachedInfo());
                 }
             }
+            objective.getDirtyScores().clear();
             return;
         }
 
         boolean objectiveAdd = objective.getUpdateType() == ADD;
         boolean objectiveUpdate = objective.getUpdateType() == UPDATE;
 
-        for (Score score : objective.getScores().values()) {
+        // Only the changed scores need to be looked at, unless the whole objective is being sent
+        Collection<Score> scores = objectiveAdd || objectiveUpdate ? objective.getScores().values() : objective.getDirtyScores();
+        for (Score score : scores) {
             if (score.getUpdateType() == REMOVE) {
                 removeScores.add(score.getCachedInfo());
                 // score is pending to be removed, so we can remove it from the objective
                 objective.removeScore0(score.getName());
-                break;
+                continue;
             }
 
             Team team = score.getTeam();
@@ -268,6 +300,7 @@ public final class Scoreboard {
 
             score.setUpdateType(NOTHING);
         }
+        objective.getDirtyScores().clear();
 
         if (objectiveUpdate) {
             RemoveObjectivePacket removeObjectivePacket = new RemoveObjectivePacket();
@@ -328,18 +361,27 @@ public final class Scoreboard {
     }
 
     public Team getTeamFor(String entity) {
-        for (Team team : teams.values()) {
-            if (team.hasEntity(entity)) {
-                return team;
-            }
+        return entityTeams.get(entity);
+    }
+
+    void addTeamEntries(Team team, Set<String> entities) {
+        for (String entity : entities) {
+            // An entity can only be in one team; the latest one wins like on Java Edition
+            entityTeams.put(entity, team);
+        }
+    }
+
+    void removeTeamEntries(Team team, Set<String> entities) {
+        for (String entity : entities) {
+            entityTeams.remove(entity, team);
         }
-        return null;
     }
 
     public void removeTeam(String teamName) {
         Team remove = teams.remove(teamName);
         if (remove != null) {
             remove.setUpdateType(REMOVE);
+            removeTeamEntries(remove, remove.getEntities());
             // We need to use the direct entities list here, so #refreshSessionPlayerDisplays also updates accordingly
             // With the player's lack of a team in visibility checks
             updateEntityNames(remove, remove.getEntities(), true);
@@ -364,15 +406,9 @@ public final class Scoreboard {
             // If the player's team changed, then other entities' teams may modify their visibility based on team status
             refreshSessionPlayerDisplays();
         }
-        if (!names.isEmpty()) {
-            for (Entity entity : session.getEntityCache().getEntities().values()) {
-                // This more complex logic is for the future to iterate over all entities, not just players
-                if (entity instanceof PlayerEntity player && names.remove(player.getUsername())) {
-                    player.updateDisplayName(team, true);
-                    if (names.isEmpty()) {
-                        break;
-                    }
-                }
+        for (String name : names) {
+            for (PlayerEntity player : session.getEntityCache().getSpawnedPlayers(name)) {
+                player.updateDisplayName(team, true);
             }
         }
     }
@@ -383,8 +419,7 @@ public final class Scoreboard {
     private void refreshSessionPlayerDisplays() {
         for (Entity entity : session.getEntityCache().getEntities().values()) {
             if (entity instanceof PlayerEntity player) {
-                Team playerTeam = session.getWorldCache().getScoreboard().getTeamFor(player.getUsername());
-                player.updateDisplayName(playerTeam, true);
+                player.updateDisplayName(getTeamFor(player.getUsername()), true);
             }
         }
     }
@@ -25,18 +25,22 @@
 
 package org.geysermc.geyser.scoreboard;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.session.GeyserSession;
-import org.geysermc.geyser.session.cache.WorldCache;
 import org.geysermc.geyser.text.GeyserLocale;
 
-import java.util.Collection;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
-public final class ScoreboardUpdater extends Thread {
+/**
+ * Sends scoreboard changes to the Bedrock client on the session's own event loop.
+ * <p>
+ * While the server sends few scoreboard packets, every change is sent right away. Past
+ * {@link #FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD} packets per second, changes are held back and sent together -
+ * the more packets, the longer they are held, up to a second at {@link #SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD}.
+ * There is always an update scheduled while changes are being held back, so none of them get lost.
+ */
+public final class ScoreboardUpdater {
     public static final int FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
     public static final int SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD = 250;
 
@@ -51,131 +55,83 @@ public final class ScoreboardUpdater extends Thread {
         DEBUG_ENABLED = config.isDebugMode();
     }
 
-    private final GeyserImpl geyser = GeyserImpl.getInstance();
+    private final GeyserSession session;
 
-    private long lastUpdate = System.currentTimeMillis();
-    private long lastPacketsPerSecondUpdate = System.currentTimeMillis();
+    private long currentSecond = System.currentTimeMillis();
+    private int packetsThisSecond;
+    private int packetsLastSecond;
 
-    public static void init() {
-        new ScoreboardUpdater().start();
-    }
+    private long lastUpdate;
+    private long lastLog;
+    private boolean updateScheduled;
 
-    @Override
-    public void run() {
-        while (!geyser.isShuttingDown()) {
-            try {
-                long timeTillAction = getTimeTillNextAction();
-                if (timeTillAction > 0) {
-                    sleepFor(timeTillAction);
-                    continue;
-                }
-
-                long currentTime = System.currentTimeMillis();
-
-                // reset score-packets per second every second
-                Collection<GeyserSession> sessions = geyser.getSessionManager().getSessions().values();
-                if (currentTime - lastPacketsPerSecondUpdate >= 1000) {
-                    lastPacketsPerSecondUpdate = currentTime;
-                    for (GeyserSession session : sessions) {
-                        ScoreboardSession scoreboardSession = session.getWorldCache().getScoreboardSession();
-
-                        int oldPps = scoreboardSession.getPacketsPerSecond();
-                        int newPps = scoreboardSession.getPendingPacketsPerSecond().get();
-
-                        scoreboardSession.packetsPerSecond = newPps;
-                        scoreboardSession.pendingPacketsPerSecond.set(0);
-
-                        // just making sure that all updates are pushed before giving up control
-                        if (oldPps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD &&
-                                newPps < FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-                            session.getWorldCache().getScoreboard().onUpdate();
-                        }
-                    }
-                }
-
-                if (currentTime - lastUpdate >= FIRST_MILLIS_BETWEEN_UPDATES) {
-                    lastUpdate = currentTime;
-
-                    for (GeyserSession session : sessions) {
-                        WorldCache worldCache = session.getWorldCache();
-                        ScoreboardSession scoreboardSession = worldCache.getScoreboardSession();
-
-                        int pps = scoreboardSession.getPacketsPerSecond();
-                        if (pps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-                            boolean reachedSecondThreshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD;
-
-                            int millisBetweenUpdates = reachedSecondThreshold ?
-                                    SECOND_MILLIS_BETWEEN_UPDATES :
-                                    FIRST_MILLIS_BETWEEN_UPDATES;
-
-                            if (currentTime - scoreboardSession.lastUpdate >= millisBetweenUpdates) {
-                                worldCache.getScoreboard().onUpdate();
-                                scoreboardSession.lastUpdate = currentTime;
-
-                                if (DEBUG_ENABLED && (currentTime - scoreboardSession.lastLog >= 60000)) { // one minute
-                                    int threshold = reachedSecondThreshold ?
-                                            SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD :
-                                            FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
-
-                                    geyser.getLogger().info(
-                                            GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached.log", session.name(), threshold, pps) +
-                                                    GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached", (millisBetweenUpdates / 1000.0))
-                                    );
-
-                                    scoreboardSession.lastLog = currentTime;
-                                }
-                            }
-                        }
-                    }
-                }
-
-                if (DEBUG_ENABLED) {
-                    long timeSpent = System.currentTimeMillis() - currentTime;
-                    if (timeSpent > 0) {
-                        geyser.getLogger().info(String.format(
-                                "Scoreboard updater: took %s ms. Updated %s players",
-                                timeSpent, sessions.size()
-                        ));
-                    }
-                }
-
-                long timeTillNextAction = getTimeTillNextAction();
-                sleepFor(timeTillNextAction);
-            } catch (Throwable e) {
-                geyser.getLogger().error("Error while translating scoreboard information!", e);
-                // Wait so we don't try to run the scoreboard immediately after this
-                sleepFor(FIRST_MILLIS_BETWEEN_UPDATES);
-            }
-        }
+    public ScoreboardUpdater(GeyserSession session) {
+        this.session = session;
     }
 
-    private long getTimeTillNextAction() {
+    /**
+     * Called after a scoreboard or team packet has been translated. Sends the changes now, or schedules them to be
+     * sent with the changes that follow.
+     */
+    public void requestUpdate() {
         long currentTime = System.currentTimeMillis();
+        if (currentTime - currentSecond >= 1000) {
+            // Nothing at all was sent last second if more than a second has gone by since
+            packetsLastSecond = currentTime - currentSecond < 2000 ? packetsThisSecond : 0;
+            packetsThisSecond = 0;
+            currentSecond = currentTime;
+        }
+        int pps = Math.max(++packetsThisSecond, packetsLastSecond);
 
-        long timeUntilNextUpdate = FIRST_MILLIS_BETWEEN_UPDATES - (currentTime - lastUpdate);
-        long timeUntilPacketReset = 1000 - (currentTime - lastPacketsPerSecondUpdate);
+        if (pps < FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
+            update(currentTime);
+            return;
+        }
+        if (updateScheduled) {
+            // This change goes out with the update that is already scheduled
+            return;
+        }
 
-        return Math.min(timeUntilNextUpdate, timeUntilPacketReset);
+        int millisBetweenUpdates = getMillisBetweenUpdates(pps);
+        long delay = Math.max(0, millisBetweenUpdates - (currentTime - lastUpdate));
+        updateScheduled = true;
+        session.scheduleInEventLoop(() -> {
+            updateScheduled = false;
+            long time = System.currentTimeMillis();
+            update(time);
+
+            if (DEBUG_ENABLED && (time - lastLog >= 60000)) { // one minute
+                int threshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD ?
+                        SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD :
+                        FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
+
+                session.getGeyser().getLogger().info(
+                        GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached.log", session.name(), threshold, pps) +
+                                GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached", (millisBetweenUpdates / 1000.0))
+                );
+                lastLog = time;
+            }
+        }, delay, TimeUnit.MILLISECONDS);
     }
 
-    private void sleepFor(long millis) {
-        if (millis <= 0) {
-            return;
-        }
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+    /**
+     * Scales the time between updates linearly from the first to the second threshold.
+     */
+    private static int getMillisBetweenUpdates(int pps) {
+        if (pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
+            return SECOND_MILLIS_BETWEEN_UPDATES;
         }
+        int range = Math.max(1, SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD - FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD);
+        return FIRST_MILLIS_BETWEEN_UPDATES + (SECOND_MILLIS_BETWEEN_UPDATES - FIRST_MILLIS_BETWEEN_UPDATES)
+                * (pps - FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) / range;
     }
 
-    @RequiredArgsConstructor
-    @Getter
-    public static final class ScoreboardSession {
-        private final GeyserSession session;
-        private final AtomicInteger pendingPacketsPerSecond = new AtomicInteger(0);
-        private int packetsPerSecond;
-        private long lastUpdate;
-        private long lastLog;
+    private void update(long currentTime) {
+        lastUpdate = currentTime;
+        try {
+            session.getWorldCache().getScoreboard().onUpdate();
+        } catch (Throwable e) {
+            session.getGeyser().getLogger().error("Error while translating scoreboard information!", e);
+        }
     }
 }
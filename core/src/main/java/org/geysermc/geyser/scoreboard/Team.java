@@ -70,6 +70,7 @@ public final class Team {
         if (added.isEmpty()) {
             return added;
         }
+        scoreboard.addTeamEntries(this, added);
         // we don't have to change the updateType,
         // because the scores itself need updating, not the team
         for (Objective objective : scoreboard.getObjectives()) {
@@ -77,6 +78,7 @@ public final class Team {
                 Score score = objective.getScores().get(addedEntity);
                 if (score != null) {
                     score.setTeam(this);
+                    objective.getDirtyScores().add(score);
                 }
             }
         }
@@ -94,6 +96,14 @@ public final class Team {
                 removed.add(name);
             }
         }
+        scoreboard.removeTeamEntries(this, removed);
+
+        // These scores have to be sent again without the team
+        for (Objective objective : scoreboard.getObjectives()) {
+            for (String removedEntity : removed) {
+                objective.markScoreDirty(removedEntity);
+            }
+        }
         return removed;
     }
 
@@ -147,6 +157,7 @@ public final class Team {
             return;
         }
         updating = true;
+        scoreboard.markTeamUpdating(this);
 
         if (cachedData == null) {
             cachedData = new TeamData();
@@ -172,6 +183,7 @@ public final class Team {
     public Team setUpdateType(UpdateType updateType) {
         if (updateType != UpdateType.NOTHING) {
             currentData.changed = true;
+            scoreboard.markTeamDirty(this);
         }
         currentData.updateType = updateType;
         return this;
@@ -95,7 +95,6 @@ import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
-import org.geysermc.geyser.entity.type.player.SkullPlayerEntity;
 import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.inventory.PlayerInventory;
 import org.geysermc.geyser.inventory.recipe.GeyserRecipe;
@@ -114,6 +113,7 @@ import org.geysermc.geyser.skin.FloodgateSkinUploader;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.translator.inventory.InventoryTranslator;
+import org.geysermc.geyser.translator.protocol.metrics.TranslatorMetrics;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.*;
 
@@ -167,6 +167,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
     private final AdvancementsCache advancementsCache;
     private final BookEditCache bookEditCache;
     private final ChunkCache chunkCache;
+    private final ClientBlobCache clientBlobCache;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
@@ -176,6 +177,11 @@ public class GeyserSession implements GeyserConnection, CommandSender {
     private final TagCache tagCache;
     private final WorldCache worldCache;
 
+    /**
+     * Only recorded to when translator metrics are enabled in the config.
+     */
+    private final TranslatorMetrics translatorMetrics = new TranslatorMetrics();
+
     @Setter
     private TeleportCache unconfirmedTeleport;
 
@@ -220,7 +226,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
     @Setter
     private ItemMappings itemMappings;
 
-    private final Map<Vector3i, SkullPlayerEntity> skullCache = new Object2ObjectOpenHashMap<>();
+    private final SkullCache skullCache;
     private final Long2ObjectMap<ClientboundMapItemDataPacket> storedMaps = new Long2ObjectOpenHashMap<>();
 
     /**
@@ -524,7 +530,9 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         this.advancementsCache = new AdvancementsCache(this);
         this.bookEditCache = new BookEditCache(this);
         this.chunkCache = new ChunkCache(this);
+        this.clientBlobCache = new ClientBlobCache(this);
         this.entityCache = new EntityCache(this);
+        this.skullCache = new SkullCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.lodestoneCache = new LodestoneCache();
@@ -938,7 +946,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
                 // Let the user know there locale may take some time to download
                 // as it has to be extracted from a JAR
-                if (locale.equalsIgnoreCase("en_us") && !MinecraftLocale.LOCALE_MAPPINGS.containsKey("en_us")) {
+                if (locale.equalsIgnoreCase("en_us") && !MinecraftLocale.isLocaleLoaded("en_us")) {
                     // This should probably be left hardcoded as it will only show for en_us clients
                     sendMessage("Loading your locale (en_us); if this isn't already downloaded, this may take some time");
                 }
@@ -1109,6 +1117,8 @@ public class GeyserSession implements GeyserConnection, CommandSender {
             for (Tickable entity : entityCache.getTickableEntities()) {
                 entity.tick();
             }
+            entityCache.tick();
+            skullCache.tick();
 
             if (armAnimationTicks != -1) {
                 // As of 1.18.2 Java Edition, it appears that the swing time is dynamically updated depending on the
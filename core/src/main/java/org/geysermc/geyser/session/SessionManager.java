@@ -30,6 +30,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import org.geysermc.geyser.text.GeyserLocale;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -44,12 +45,32 @@ public final class SessionManager {
      */
     @Getter
     private final Map<UUID, GeyserSession> sessions = new ConcurrentHashMap<>();
+    /**
+     * Pending and in-game sessions by their Xbox ID.
+     */
+    private final Map<String, GeyserSession> sessionsByXuid = new ConcurrentHashMap<>();
+    /**
+     * Pending and in-game sessions by their Bedrock username.
+     */
+    private final Map<String, GeyserSession> sessionsByBedrockName = new ConcurrentHashMap<>();
+    /**
+     * In-game sessions by their Java username.
+     */
+    private final Map<String, GeyserSession> sessionsByJavaName = new ConcurrentHashMap<>();
+    /**
+     * A snapshot of all pending and in-game sessions. Sessions are looked up far more often than they join or leave,
+     * so this is only rebuilt when they do.
+     */
+    private volatile List<GeyserSession> allSessions = ImmutableList.of();
 
     /**
      * Called once the player has successfully authenticated to the Geyser server.
      */
     public void addPendingSession(GeyserSession session) {
         pendingSessions.add(session);
+        sessionsByXuid.put(session.xuid(), session);
+        sessionsByBedrockName.put(session.name(), session);
+        updateAllSessions();
     }
 
     /**
@@ -58,25 +79,57 @@ public final class SessionManager {
     public void addSession(UUID uuid, GeyserSession session) {
         pendingSessions.remove(session);
         sessions.put(uuid, session);
+        sessionsByJavaName.put(session.getPlayerEntity().getUsername(), session);
+        updateAllSessions();
     }
 
     public void removeSession(GeyserSession session) {
         if (sessions.remove(session.getPlayerEntity().getUuid()) == null) {
             // Connection was likely pending
-            pendingSessions.remove(session);
+            if (!pendingSessions.remove(session)) {
+                return;
+            }
+        } else {
+            sessionsByJavaName.remove(session.getPlayerEntity().getUsername(), session);
         }
+        sessionsByXuid.remove(session.xuid(), session);
+        sessionsByBedrockName.remove(session.name(), session);
+        updateAllSessions();
     }
 
-    /**
-     * Creates a new, immutable list containing all pending and active sessions.
-     */
-    public List<GeyserSession> getAllSessions() {
-        return ImmutableList.<GeyserSession>builder() // builderWithExpectedSize is probably not a good idea yet as older Spigot builds probably won't have it.
+    private synchronized void updateAllSessions() {
+        allSessions = ImmutableList.<GeyserSession>builder() // builderWithExpectedSize is probably not a good idea yet as older Spigot builds probably won't have it.
                 .addAll(pendingSessions)
                 .addAll(sessions.values())
                 .build();
     }
 
+    /**
+     * @return an immutable list containing all pending and active sessions. The same list is returned until a session
+     * joins or leaves, so this is cheap to call often.
+     */
+    public List<GeyserSession> getAllSessions() {
+        return allSessions;
+    }
+
+    /**
+     * @return the pending or in-game session with this Xbox ID, or null if there is none
+     */
+    public @Nullable GeyserSession sessionByXuid(String xuid) {
+        return sessionsByXuid.get(xuid);
+    }
+
+    /**
+     * @return the pending or in-game session with this Bedrock or Java username, or null if there is none
+     */
+    public @Nullable GeyserSession sessionByName(String name) {
+        GeyserSession session = sessionsByBedrockName.get(name);
+        if (session == null) {
+            session = sessionsByJavaName.get(name);
+        }
+        return session;
+    }
+
     public void disconnectAll(String message) {
         Collection<GeyserSession> sessions = getAllSessions();
         for (GeyserSession session : sessions) {
@@ -25,16 +25,23 @@
 
 package org.geysermc.geyser.session.cache;
 
-import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.nukkitx.math.vector.Vector3i;
+import com.nukkitx.nbt.NbtMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.level.chunk.CompactSection;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
+import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.geyser.util.MathUtils;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+
 public class ChunkCache {
     private final boolean cache;
     private final Long2ObjectMap<GeyserChunk> chunks;
@@ -56,16 +63,43 @@ public class ChunkCache {
         chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
     }
 
-    public void addToCache(int x, int z, DataPalette[] chunks) {
+    public void addToCache(int x, int z, CompactSection[] chunks) {
         if (!cache) {
             return;
         }
 
+        intern(chunks);
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
         GeyserChunk geyserChunk = GeyserChunk.from(chunks);
         this.chunks.put(chunkPosition, geyserChunk);
     }
 
+    /**
+     * Caches a chunk along with its translated block entities, so its sections can be translated when the client
+     * requests them.
+     */
+    public void addToCache(int x, int z, CompactSection[] chunks, List<NbtMap> bedrockBlockEntities) {
+        if (!cache) {
+            return;
+        }
+
+        intern(chunks);
+        long chunkPosition = MathUtils.chunkPositionToLong(x, z);
+        GeyserChunk geyserChunk = GeyserChunk.from(chunks, bedrockBlockEntities);
+        this.chunks.put(chunkPosition, geyserChunk);
+    }
+
+    /**
+     * Swaps sections for any equal ones that are already cached, possibly by other sessions.
+     */
+    private static void intern(CompactSection[] sections) {
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] != null) {
+                sections[i] = sections[i].intern();
+            }
+        }
+    }
+
     /**
      * Doesn't check for cache enabled, so don't use this without checking that first!
      */
@@ -74,6 +108,34 @@ public class ChunkCache {
         return chunks.getOrDefault(chunkPosition, null);
     }
 
+    /**
+     * @return the cached chunk, or null if it isn't loaded or the cache is disabled
+     */
+    @Nullable
+    public GeyserChunk getColumn(int chunkX, int chunkZ) {
+        if (!cache) {
+            return null;
+        }
+
+        return getChunk(chunkX, chunkZ);
+    }
+
+    /**
+     * Replaces the stored Bedrock tag of a block entity, if its chunk keeps them for sub-chunk requests.
+     */
+    public void updateBlockEntity(Vector3i position, NbtMap blockEntity) {
+        if (!cache) {
+            return;
+        }
+
+        GeyserChunk chunk = this.getChunk(position.getX() >> 4, position.getZ() >> 4);
+        if (chunk == null || chunk.bedrockBlockEntities() == null) {
+            return;
+        }
+
+        chunk.bedrockBlockEntities().put(GeyserChunk.blockEntityIndex(position.getX(), position.getY(), position.getZ()), blockEntity);
+    }
+
     public void updateBlock(int x, int y, int z, int block) {
         if (!cache) {
             return;
@@ -89,21 +151,28 @@ public class ChunkCache {
             return;
         }
 
-        DataPalette palette = chunk.sections()[(y - minY) >> 4];
-        if (palette == null) {
+        if (chunk.bedrockBlockEntities() != null && !BlockEntityUtils.hasBlockEntity(block)) {
+            // The block entity was broken or replaced, so it must not be sent with this sub-chunk again
+            chunk.bedrockBlockEntities().remove(GeyserChunk.blockEntityIndex(x, y, z));
+        }
+
+        CompactSection section = chunk.sections()[(y - minY) >> 4];
+        if (section == null) {
             if (block != BlockStateValues.JAVA_AIR_ID) {
                 // A previously empty chunk, which is no longer empty as a block has been added to it
-                palette = DataPalette.createForChunk();
-                // Fixes the chunk assuming that all blocks is the `block` variable we are updating. /shrug
-                palette.getPalette().stateToId(BlockStateValues.JAVA_AIR_ID);
-                chunk.sections()[(y - minY) >> 4] = palette;
+                section = CompactSection.singleton(BlockStateValues.JAVA_AIR_ID);
+                chunk.sections()[(y - minY) >> 4] = section;
             } else {
                 // Nothing to update
                 return;
             }
+        } else if (section.isShared()) {
+            // This session is the only one that sees this change
+            section = section.mutableCopy();
+            chunk.sections()[(y - minY) >> 4] = section;
         }
 
-        palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+        section.set(x & 0xF, y & 0xF, z & 0xF, block);
     }
 
     public int getBlockAt(int x, int y, int z) {
@@ -121,7 +190,7 @@ public class ChunkCache {
             return BlockStateValues.JAVA_AIR_ID;
         }
 
-        DataPalette chunk = column.sections()[(y - minY) >> 4];
+        CompactSection chunk = column.sections()[(y - minY) >> 4];
         if (chunk != null) {
             return chunk.get(x & 0xF, y & 0xF, z & 0xF);
         }
@@ -151,6 +220,30 @@ public class ChunkCache {
         chunks.clear();
     }
 
+    /**
+     * Adds every cached section to the given collection. Must be called on the session's event loop.
+     */
+    public void collectSections(Collection<CompactSection> sections) {
+        if (!cache) {
+            return;
+        }
+
+        for (GeyserChunk chunk : chunks.values()) {
+            for (CompactSection section : chunk.sections()) {
+                if (section != null) {
+                    sections.add(section);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether chunks are cached by Geyser, rather than read from the server platform
+     */
+    public boolean isCaching() {
+        return cache;
+    }
+
     public int getChunkMinY() {
         return minY >> 4;
     }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nukkitx.protocol.bedrock.packet.ClientCacheMissResponsePacket;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.longs.LongList;
+import lombok.Getter;
+import lombok.Setter;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.XXHash64;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the blobs that have been referenced by ID to a Bedrock client that supports the client cache, but whose status
+ * the client has not reported yet. The client responds to every cached chunk with the blob IDs it already had stored
+ * and the ones it's missing; we only need to send the data for the latter.
+ * <p>
+ * Blobs are kept by their ID, so terrain that repeats within or across chunks is only stored once. A blob may be part
+ * of several chunks that are still on their way, so it is kept after the client reported it missing and is only
+ * forgotten once the client has it stored, or once it hasn't been referenced for a while.
+ */
+public class ClientBlobCache {
+    private final GeyserSession session;
+
+    /**
+     * Whether the client reported that it supports the blob cache. Some platforms do not.
+     */
+    @Getter
+    @Setter
+    private boolean supported = false;
+
+    /**
+     * The most blob data that is kept for one client, in bytes
+     */
+    private static final long MAX_PENDING_BYTES = 16 * 1024 * 1024;
+
+    private final Cache<Long, byte[]> pendingBlobs = CacheBuilder.newBuilder()
+            .expireAfterWrite(30, TimeUnit.SECONDS)
+            .maximumWeight(MAX_PENDING_BYTES)
+            .weigher((Long blobId, byte[] blob) -> blob.length)
+            .build();
+
+    public ClientBlobCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return true if chunks should be sent to this client as blob IDs rather than full data.
+     */
+    public boolean isEnabled() {
+        return supported && session.getGeyser().getConfig().isEnableClientCache();
+    }
+
+    /**
+     * Copies the given region of the buffer into a blob and keeps it until the client has told us whether it has it.
+     *
+     * @return the blob ID to send to the client
+     */
+    public long registerBlob(ByteBuf buf, int index, int length) {
+        byte[] blob = new byte[length];
+        buf.getBytes(index, blob);
+        return registerBlob(blob);
+    }
+
+    /**
+     * Keeps the given data as a blob until the client has told us whether it has it. The array is not copied, so it
+     * must not be modified afterwards.
+     *
+     * @return the blob ID to send to the client
+     */
+    public long registerBlob(byte[] blob) {
+        long blobId = XXHash64.hash(blob);
+        // Also refreshes the expiry if the same terrain is already waiting for another chunk
+        pendingBlobs.put(blobId, blob);
+        return blobId;
+    }
+
+    /**
+     * Sends all blobs the client is missing and forgets any blobs the client already has.
+     *
+     * @param acks the blob IDs the client already had stored
+     * @param naks the blob IDs the client is missing
+     */
+    public void onBlobStatus(LongList acks, LongList naks) {
+        for (int i = 0; i < acks.size(); i++) {
+            pendingBlobs.invalidate(acks.getLong(i));
+        }
+
+        if (naks.isEmpty()) {
+            return;
+        }
+
+        ClientCacheMissResponsePacket missResponse = new ClientCacheMissResponsePacket();
+        for (int i = 0; i < naks.size(); i++) {
+            long blobId = naks.getLong(i);
+            byte[] blob = pendingBlobs.getIfPresent(blobId);
+            if (blob == null) {
+                session.getGeyser().getLogger().debug("Client requested unknown blob " + Long.toHexString(blobId));
+                continue;
+            }
+            missResponse.getBlobs().put(blobId, blob);
+        }
+
+        if (!missResponse.getBlobs().isEmpty()) {
+            session.sendUpstreamPacket(missResponse);
+        }
+    }
+
+    /**
+     * Forgets all blobs, for example because the client is changing dimensions and won't ask for them anymore.
+     */
+    public void clear() {
+        pendingBlobs.invalidateAll();
+    }
+}
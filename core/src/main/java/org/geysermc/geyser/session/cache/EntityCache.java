@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.session.cache;
 
+import com.nukkitx.protocol.bedrock.packet.MoveEntityAbsolutePacket;
 import it.unimi.dsi.fastutil.ints.Int2LongMap;
 import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
@@ -55,13 +56,33 @@ public class EntityCache {
     private final List<Tickable> tickableEntities = new ObjectArrayList<>();
     private final Int2LongMap entityIdTranslations = new Int2LongOpenHashMap();
     private final Map<UUID, PlayerEntity> playerEntities = new Object2ObjectOpenHashMap<>();
+    /**
+     * All spawned players by their username, so scoreboard team changes don't have to look through every entity.
+     * NPC plugins can spawn several players with the same name.
+     */
+    private final Map<String, List<PlayerEntity>> spawnedPlayers = new Object2ObjectOpenHashMap<>();
     private final Map<UUID, BossBar> bossBars = new Object2ObjectOpenHashMap<>();
 
+    /**
+     * The latest movement of far away entities that hasn't been sent yet, by Geyser ID.
+     */
+    private final Long2ObjectMap<MoveEntityAbsolutePacket> pendingMovements = new Long2ObjectOpenHashMap<>();
+    /**
+     * Entities closer than this (squared) are moved as soon as Java says so. -1 if culling is disabled.
+     */
+    private final double cullingDistanceSquared;
+    private final int cullingInterval;
+    private int ticks = 0;
+
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
 
     public EntityCache(GeyserSession session) {
         this.session = session;
+
+        int cullingDistance = session.getGeyser().getConfig().getEntityUpdateCullingDistance();
+        this.cullingDistanceSquared = cullingDistance < 0 ? -1 : (double) cullingDistance * cullingDistance;
+        this.cullingInterval = Math.max(1, session.getGeyser().getConfig().getEntityUpdateCullingInterval());
     }
 
     public void spawnEntity(Entity entity) {
@@ -80,6 +101,9 @@ public class EntityCache {
         if (!entityIdTranslations.containsKey(entity.getEntityId())) {
             entityIdTranslations.put(entity.getEntityId(), entity.getGeyserId());
             entities.put(entity.getGeyserId(), entity);
+            if (entity instanceof PlayerEntity player) {
+                addSpawnedPlayer(player);
+            }
             return true;
         }
         return false;
@@ -93,6 +117,10 @@ public class EntityCache {
         if (entity != null && entity.isValid() && (force || entity.despawnEntity())) {
             long geyserId = entityIdTranslations.remove(entity.getEntityId());
             entities.remove(geyserId);
+            pendingMovements.remove(geyserId);
+            if (entity instanceof PlayerEntity player) {
+                removeSpawnedPlayer(player);
+            }
 
             if (entity instanceof Tickable) {
                 tickableEntities.remove(entity);
@@ -109,6 +137,40 @@ public class EntityCache {
         }
 
         session.getPlayerWithCustomHeads().clear();
+        pendingMovements.clear();
+    }
+
+    /**
+     * Sends the movement of an entity, or holds on to it until the next flush if the entity is far away from the
+     * player. A held movement is replaced by any newer one for the same entity.
+     */
+    public void sendMovement(Entity entity, MoveEntityAbsolutePacket packet) {
+        if (cullingDistanceSquared < 0 || packet.isTeleported()
+                || entity.getPosition().distanceSquared(session.getPlayerEntity().getPosition()) < cullingDistanceSquared) {
+            // Drop anything older that is still waiting, so it can't be sent after this
+            pendingMovements.remove(entity.getGeyserId());
+            session.sendUpstreamPacket(packet);
+            return;
+        }
+
+        pendingMovements.put(entity.getGeyserId(), packet);
+    }
+
+    /**
+     * Called every tick to send the held movement of far away entities, once every few ticks.
+     */
+    public void tick() {
+        if (++ticks < cullingInterval) {
+            return;
+        }
+        ticks = 0;
+
+        if (!pendingMovements.isEmpty()) {
+            for (MoveEntityAbsolutePacket packet : pendingMovements.values()) {
+                session.sendUpstreamPacket(packet);
+            }
+            pendingMovements.clear();
+        }
     }
 
     public Entity getEntityByGeyserId(long geyserId) {
@@ -138,6 +200,42 @@ public class EntityCache {
         return playerEntities.values();
     }
 
+    /**
+     * @return all spawned players with this username
+     */
+    public List<PlayerEntity> getSpawnedPlayers(String username) {
+        return spawnedPlayers.getOrDefault(username, Collections.emptyList());
+    }
+
+    /**
+     * Changes the username of a player, keeping the index of spawned players up to date.
+     */
+    public void updateUsername(PlayerEntity player, String username) {
+        if (Objects.equals(username, player.getUsername())) {
+            return;
+        }
+        boolean spawned = removeSpawnedPlayer(player);
+        player.setUsername(username);
+        if (spawned) {
+            addSpawnedPlayer(player);
+        }
+    }
+
+    private void addSpawnedPlayer(PlayerEntity player) {
+        spawnedPlayers.computeIfAbsent(player.getUsername(), username -> new ObjectArrayList<>(1)).add(player);
+    }
+
+    private boolean removeSpawnedPlayer(PlayerEntity player) {
+        List<PlayerEntity> players = spawnedPlayers.get(player.getUsername());
+        if (players == null || !players.remove(player)) {
+            return false;
+        }
+        if (players.isEmpty()) {
+            spawnedPlayers.remove(player.getUsername());
+        }
+        return true;
+    }
+
     public void addBossBar(UUID uuid, BossBar bossBar) {
         bossBars.put(uuid, bossBar);
         bossBar.addBossBar();
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.math.vector.Vector3i;
+import com.nukkitx.protocol.bedrock.data.entity.EntityFlag;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.geysermc.geyser.entity.type.player.SkullPlayerEntity;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.skin.SkullSkinManager;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of every custom skull in the loaded chunks, but only shows the nearest ones to the player.
+ * <p>
+ * Each visible skull is a player entity with its own skin, which is expensive for the Bedrock client. Skulls
+ * become entities once they are among the {@code max-visible-custom-skulls} closest within
+ * {@code custom-skull-render-distance} blocks, and are despawned again once they aren't.
+ */
+public class SkullCache {
+    /**
+     * How far, squared, the player has to move before visible skulls are worked out again
+     */
+    private static final double UPDATE_DISTANCE_SQUARED = 4 * 4;
+
+    private final GeyserSession session;
+    private final int maxVisibleSkulls;
+    private final double renderDistanceSquared;
+
+    private final Map<Vector3i, Skull> skulls = new Object2ObjectOpenHashMap<>();
+    private final List<Skull> inRangeSkulls = new ObjectArrayList<>();
+    /**
+     * How many skulls currently have an entity
+     */
+    private int visibleSkulls;
+
+    private Vector3f lastPlayerPosition;
+    private boolean dirty;
+
+    public SkullCache(GeyserSession session) {
+        this.session = session;
+
+        int maxVisibleSkulls = session.getGeyser().getConfig().getMaxVisibleCustomSkulls();
+        this.maxVisibleSkulls = maxVisibleSkulls < 0 ? Integer.MAX_VALUE : maxVisibleSkulls;
+        int renderDistance = session.getGeyser().getConfig().getCustomSkullRenderDistance();
+        this.renderDistanceSquared = renderDistance < 0 ? Double.MAX_VALUE : (double) renderDistance * renderDistance;
+    }
+
+    public void putSkull(Vector3i position, String texturesProperty, int blockState, Vector3f entityPosition, float rotation) {
+        // Ensure that two skulls can't spawn on the same point
+        removeSkull(position);
+
+        Skull skull = new Skull(position, texturesProperty, blockState, entityPosition, rotation);
+        skulls.put(position, skull);
+        // Worked out on the next tick, so a chunk full of skulls is only sorted once
+        dirty = true;
+    }
+
+    public void removeSkull(Vector3i position) {
+        Skull skull = skulls.remove(position);
+        if (skull != null) {
+            despawn(skull);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Removes the skull at this position if the block there is no longer that skull.
+     */
+    public void updateBlock(Vector3i position, int blockState) {
+        Skull skull = skulls.get(position);
+        if (skull != null && skull.blockState != blockState) {
+            removeSkull(position);
+        }
+    }
+
+    public void removeSkullsInChunk(int chunkX, int chunkZ) {
+        Iterator<Skull> iterator = skulls.values().iterator();
+        while (iterator.hasNext()) {
+            Skull skull = iterator.next();
+            if ((skull.position.getX() >> 4) == chunkX && (skull.position.getZ() >> 4) == chunkZ) {
+                despawn(skull);
+                iterator.remove();
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Forgets every skull without despawning them, for when the client has already dropped them such as on
+     * a dimension change.
+     */
+    public void clear() {
+        skulls.clear();
+        visibleSkulls = 0;
+        inRangeSkulls.clear();
+        lastPlayerPosition = null;
+    }
+
+    public void tick() {
+        Vector3f playerPosition = session.getPlayerEntity().getPosition();
+        if (!dirty && lastPlayerPosition != null && playerPosition.distanceSquared(lastPlayerPosition) < UPDATE_DISTANCE_SQUARED) {
+            return;
+        }
+        dirty = false;
+        lastPlayerPosition = playerPosition;
+
+        inRangeSkulls.clear();
+        for (Skull skull : skulls.values()) {
+            skull.distanceSquared = skull.entityPosition.distanceSquared(playerPosition);
+            if (skull.distanceSquared <= renderDistanceSquared) {
+                inRangeSkulls.add(skull);
+            } else {
+                despawn(skull);
+            }
+        }
+
+        if (inRangeSkulls.size() > maxVisibleSkulls) {
+            inRangeSkulls.sort(Comparator.comparingDouble(skull -> skull.distanceSquared));
+            // Make room first, so the budget is never exceeded
+            for (int i = maxVisibleSkulls; i < inRangeSkulls.size(); i++) {
+                despawn(inRangeSkulls.get(i));
+            }
+        }
+
+        int visible = Math.min(maxVisibleSkulls, inRangeSkulls.size());
+        for (int i = 0; i < visible; i++) {
+            spawn(inRangeSkulls.get(i));
+        }
+    }
+
+    private void spawn(Skull skull) {
+        if (skull.entity != null) {
+            return;
+        }
+
+        long geyserId = session.getEntityCache().getNextEntityId().incrementAndGet();
+        SkullPlayerEntity entity = new SkullPlayerEntity(session, geyserId, skull.entityPosition, skull.rotation,
+                skull.blockState, skull.texturesProperty);
+        skull.entity = entity;
+        visibleSkulls++;
+
+        entity.spawnEntity();
+
+        SkullSkinManager.requestAndHandleSkin(entity, session, (skin -> session.scheduleInEventLoop(() -> {
+            if (skull.entity != entity) {
+                // Despawned while the skin was loading
+                return;
+            }
+            // Delay to minimize split-second "player" pop-in
+            entity.setFlag(EntityFlag.INVISIBLE, false);
+            entity.updateBedrockMetadata();
+        }, 250, TimeUnit.MILLISECONDS)));
+    }
+
+    private void despawn(Skull skull) {
+        if (skull.entity != null) {
+            skull.entity.despawnEntity();
+            skull.entity = null;
+            visibleSkulls--;
+        }
+    }
+
+    /**
+     * @return how many skulls are currently shown as entities
+     */
+    public int getVisibleSkulls() {
+        return visibleSkulls;
+    }
+
+    private static final class Skull {
+        private final Vector3i position;
+        private final String texturesProperty;
+        private final int blockState;
+        private final Vector3f entityPosition;
+        private final float rotation;
+        @Nullable
+        private SkullPlayerEntity entity;
+        private double distanceSquared;
+
+        private Skull(Vector3i position, String texturesProperty, int blockState, Vector3f entityPosition, float rotation) {
+            this.position = position;
+            this.texturesProperty = texturesProperty;
+            this.blockState = blockState;
+            this.entityPosition = entityPosition;
+            this.rotation = rotation;
+        }
+    }
+}
@@ -30,13 +30,13 @@ import com.nukkitx.protocol.bedrock.packet.SetTitlePacket;
 import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.scoreboard.Scoreboard;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater.ScoreboardSession;
+import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 
 public final class WorldCache {
     private final GeyserSession session;
     @Getter
-    private final ScoreboardSession scoreboardSession;
+    private final ScoreboardUpdater scoreboardUpdater;
     @Getter
     private Scoreboard scoreboard;
     @Getter
@@ -54,7 +54,7 @@ public final class WorldCache {
     public WorldCache(GeyserSession session) {
         this.session = session;
         this.scoreboard = new Scoreboard(session);
-        scoreboardSession = new ScoreboardSession(session);
+        scoreboardUpdater = new ScoreboardUpdater(session);
         resetTitleTimes(false);
     }
 
@@ -65,12 +65,6 @@ public final class WorldCache {
         }
     }
 
-    public int increaseAndGetScoreboardPacketsPerSecond() {
-        int pendingPps = scoreboardSession.getPendingPacketsPerSecond().incrementAndGet();
-        int pps = scoreboardSession.getPacketsPerSecond();
-        return Math.max(pps, pendingPps);
-    }
-
     public void markTitleTimesAsIncorrect() {
         titleTimesNeedReset = true;
     }
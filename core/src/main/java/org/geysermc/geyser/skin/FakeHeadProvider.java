@@ -29,7 +29,6 @@ import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.nukkitx.protocol.bedrock.data.skin.ImageData;
 import com.nukkitx.protocol.bedrock.data.skin.SerializedSkin;
 import com.nukkitx.protocol.bedrock.packet.PlayerListPacket;
 import com.nukkitx.protocol.bedrock.packet.PlayerSkinPacket;
@@ -45,7 +44,6 @@ import org.geysermc.geyser.text.GeyserLocale;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.Collections;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -86,7 +84,7 @@ public class FakeHeadProvider {
                     // Make the skin key a combination of the current skin data and the new skin data
                     // Don't tie it to a player - that player *can* change skins in-game
                     String skinKey = "customPlayerHead_" + fakeHeadEntry.getFakeHeadSkinUrl() + "_" + skin.getTextureUrl();
-                    byte[] targetSkinData = SkinProvider.bufferedImageToImageData(originalSkinImage);
+                    byte[] targetSkinData = SharedSkinData.intern(SkinProvider.bufferedImageToImageData(originalSkinImage));
                     SkinProvider.Skin mergedSkin = new SkinProvider.Skin(fakeHeadEntry.getEntity().getUuid(), skinKey, targetSkinData, System.currentTimeMillis(), false, false);
 
                     // Avoiding memory leak
@@ -171,10 +169,8 @@ public class FakeHeadProvider {
     }
 
     private static SerializedSkin getSkin(String skinId, SkinProvider.Skin skin, SkinProvider.Cape cape, SkinProvider.SkinGeometry geometry) {
-        return SerializedSkin.of(skinId, "", geometry.getGeometryName(),
-                ImageData.of(skin.getSkinData()), Collections.emptyList(),
-                ImageData.of(cape.getCapeData()), geometry.getGeometryData(),
-                "", true, false, false, cape.getCapeId(), skinId);
+        return SharedSkinData.getSkin(skinId, geometry.getGeometryName(), skin.getSkinData(), cape.getCapeData(),
+                geometry.getGeometryData(), false, cape.getCapeId());
     }
 
     @AllArgsConstructor
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Resolves profiles through Mojang's API.
+ */
+public class MojangProfileResolver implements ProfileResolver {
+    private final SkinHttpClient httpClient;
+
+    public MojangProfileResolver(SkinHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public CompletableFuture<String> getUuid(String username) {
+        return requestJson("https://api.mojang.com/users/profiles/minecraft/" + username).thenApply(node -> {
+            JsonNode id = node == null ? null : node.get("id");
+            if (id == null) {
+                GeyserImpl.getInstance().getLogger().debug("No UUID found in Mojang response for " + username);
+                return null;
+            }
+            return id.asText();
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> getTextures(String uuid) {
+        return requestJson("https://sessionserver.mojang.com/session/minecraft/profile/" + uuid).thenApply(node -> {
+            JsonNode properties = node == null ? null : node.get("properties");
+            if (properties == null) {
+                GeyserImpl.getInstance().getLogger().debug("No properties found in Mojang response for " + uuid);
+                return null;
+            }
+            return properties.get(0).get("value").asText();
+        });
+    }
+
+    /**
+     * @return the response, or null if there is no such profile
+     */
+    private CompletableFuture<JsonNode> requestJson(String url) {
+        return httpClient.get(url).handle((body, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                if (cause instanceof SkinHttpClient.StatusException exception && exception.getStatus() == 404) {
+                    return null;
+                }
+                throw throwable instanceof CompletionException completion ? completion : new CompletionException(throwable);
+            }
+
+            try {
+                // Mojang answers with no content at all if the profile doesn't exist
+                return body.length == 0 ? null : GeyserImpl.JSON_MAPPER.readTree(body);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+}
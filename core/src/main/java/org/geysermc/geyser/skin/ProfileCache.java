@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.geysermc.geyser.GeyserImpl;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches username to UUID and UUID to textures lookups for skulls, in memory and on disk, so the same heads aren't
+ * looked up again for every player and every time their chunk is loaded.
+ * <p>
+ * Profiles that don't exist are remembered for a shorter time. Lookups that failed are not remembered at all.
+ * Concurrent lookups of the same key share one request.
+ */
+public class ProfileCache {
+    private static final int FILE_VERSION = 1;
+    private static final long UUID_TTL = TimeUnit.DAYS.toMillis(1);
+    /**
+     * Shorter, since skins change a lot more often than usernames
+     */
+    private static final long TEXTURES_TTL = TimeUnit.HOURS.toMillis(6);
+    private static final long NOT_FOUND_TTL = TimeUnit.HOURS.toMillis(1);
+
+    private final Lookup uuids = new Lookup(UUID_TTL);
+    private final Lookup textures = new Lookup(TEXTURES_TTL);
+    @Nullable
+    private final Path file;
+    private volatile boolean dirty;
+
+    /**
+     * Where lookups that aren't cached go. Can be replaced, for example with a local stand-in for Mojang's API.
+     */
+    @Getter
+    @Setter
+    private volatile ProfileResolver resolver;
+
+    /**
+     * @param resolver the resolver to look up profiles with
+     * @param file where to keep the cache between restarts, or null to only cache in memory
+     */
+    public ProfileCache(ProfileResolver resolver, @Nullable Path file) {
+        this.resolver = resolver;
+        this.file = file;
+        load();
+    }
+
+    /**
+     * @return the UUID without dashes, or null if there is no player with this username
+     */
+    public CompletableFuture<@Nullable String> getUuid(String username) {
+        // Usernames are case-insensitive
+        return uuids.get(username.toLowerCase(Locale.ROOT), key -> resolver.getUuid(key));
+    }
+
+    /**
+     * @return the Base64 encoded textures property, or null if there is no player with this UUID
+     */
+    public CompletableFuture<@Nullable String> getTextures(String uuid) {
+        return textures.get(uuid, key -> resolver.getTextures(key));
+    }
+
+    private void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_VERSION) {
+                return;
+            }
+            uuids.read(in);
+            textures.read(in);
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to read the profile cache, starting over: " + e.getMessage());
+            uuids.entries.clear();
+            textures.entries.clear();
+        }
+    }
+
+    /**
+     * Drops expired entries, and writes the cache to disk if it changed since the last save.
+     */
+    public synchronized void save() {
+        uuids.expire();
+        textures.expire();
+        if (file == null || !dirty) {
+            return;
+        }
+        dirty = false;
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(FILE_VERSION);
+                    uuids.write(out);
+                    textures.write(out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            dirty = true;
+            GeyserImpl.getInstance().getLogger().error("Failed to save the profile cache", e);
+        }
+    }
+
+    public int size() {
+        return uuids.entries.size() + textures.entries.size();
+    }
+
+    private final class Lookup {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+        private final long ttl;
+
+        private Lookup(long ttl) {
+            this.ttl = ttl;
+        }
+
+        CompletableFuture<String> get(String key, Function<String, CompletableFuture<String>> fetch) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                return CompletableFuture.completedFuture(entry.value);
+            }
+
+            CompletableFuture<String> future = new CompletableFuture<>();
+            CompletableFuture<String> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                return existing;
+            }
+
+            CompletableFuture<String> request;
+            try {
+                request = fetch.apply(key);
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            request.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    entries.put(key, new Entry(value, System.currentTimeMillis() + (value == null ? NOT_FOUND_TTL : ttl)));
+                    dirty = true;
+                }
+                inFlight.remove(key);
+
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(value);
+                }
+            });
+            return future;
+        }
+
+        void expire() {
+            long now = System.currentTimeMillis();
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAt <= now) {
+                    it.remove();
+                    dirty = true;
+                }
+            }
+        }
+
+        void read(DataInputStream in) throws IOException {
+            long now = System.currentTimeMillis();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String key = in.readUTF();
+                String value = in.readBoolean() ? in.readUTF() : null;
+                long expiresAt = in.readLong();
+                if (expiresAt > now) {
+                    entries.put(key, new Entry(value, expiresAt));
+                }
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            Map<String, Entry> snapshot = Map.copyOf(entries);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey());
+                String value = entry.getValue().value;
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    out.writeUTF(value);
+                }
+                out.writeLong(entry.getValue().expiresAt);
+            }
+        }
+    }
+
+    private record Entry(@Nullable String value, long expiresAt) {
+    }
+}
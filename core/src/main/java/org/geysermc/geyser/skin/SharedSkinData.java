@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.nukkitx.protocol.bedrock.data.skin.ImageData;
+import com.nukkitx.protocol.bedrock.data.skin.SerializedSkin;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes sure every session references the same copy of a skin, instead of each holding its own.
+ * <p>
+ * Image data is interned by its contents, and the {@link SerializedSkin}s built from it are shared between every
+ * session showing that skin. Image data is only held weakly - once no skin references it anymore, it is dropped.
+ */
+public final class SharedSkinData {
+    private static final Cache<HashCode, byte[]> IMAGES = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+    private static final Cache<SkinKey, SerializedSkin> SKINS = CacheBuilder.newBuilder()
+            .softValues()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private static final LongAdder DEDUPLICATED_BYTES = new LongAdder();
+
+    /**
+     * @return a shared array with the same contents as the given image data. The returned array must not be modified.
+     */
+    public static byte[] intern(byte[] data) {
+        if (data.length == 0) {
+            return data;
+        }
+
+        byte[] existing = IMAGES.asMap().putIfAbsent(Hashing.murmur3_128().hashBytes(data), data);
+        if (existing == null || existing == data) {
+            return data;
+        }
+        if (!Arrays.equals(existing, data)) {
+            // A hash collision - very unlikely, but not worth sharing the wrong skin over
+            return data;
+        }
+        DEDUPLICATED_BYTES.add(data.length);
+        return existing;
+    }
+
+    /**
+     * Gets the skin for the given textures, building it if no session has used it yet.
+     */
+    public static SerializedSkin getSkin(String skinId, String geometryName, byte[] skinData, byte[] capeData,
+                                         String geometryData, boolean capeOnClassic, String capeId) {
+        // Interning first lets the key compare image data by reference
+        SkinKey key = new SkinKey(skinId, geometryName, intern(skinData), intern(capeData), geometryData, capeOnClassic, capeId);
+        SerializedSkin skin = SKINS.getIfPresent(key);
+        if (skin == null) {
+            skin = SerializedSkin.of(
+                    skinId, "", geometryName, ImageData.of(key.skinData()), Collections.emptyList(),
+                    ImageData.of(key.capeData()), geometryData, "", true, false,
+                    capeOnClassic, capeId, skinId
+            );
+            SKINS.put(key, skin);
+        }
+        return skin;
+    }
+
+    /**
+     * @return how many distinct images are held
+     */
+    public static long getDistinctImages() {
+        return IMAGES.size();
+    }
+
+    /**
+     * @return how much memory the distinct images take up
+     */
+    public static long getImageBytes() {
+        long bytes = 0;
+        for (byte[] image : IMAGES.asMap().values()) {
+            bytes += image.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return how many bytes of image data were replaced by an existing copy
+     */
+    public static long getDeduplicatedBytes() {
+        return DEDUPLICATED_BYTES.sum();
+    }
+
+    public static long getSharedSkins() {
+        return SKINS.size();
+    }
+
+    private SharedSkinData() {
+    }
+
+    /**
+     * The image arrays are interned, so the default reference equality on them is what we want.
+     */
+    private record SkinKey(String skinId, String geometryName, byte[] skinData, byte[] capeData, String geometryData,
+                           boolean capeOnClassic, String capeId) {
+    }
+}
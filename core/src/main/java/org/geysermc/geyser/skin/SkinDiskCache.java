@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import com.google.common.hash.Hashing;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores downloaded skins and capes on disk, already converted to the RGBA data Bedrock expects.
+ * <p>
+ * Image data is stored deflated, in a file named after the hash of its contents, so players sharing a texture
+ * under different URLs share a file too. An index maps each URL to its file and remembers when it was last used,
+ * which is what expiry goes by.
+ */
+final class SkinDiskCache {
+    private static final int INDEX_VERSION = 1;
+    private static final String INDEX_FILE = "index.bin";
+    private static final String DATA_EXTENSION = ".rgba";
+
+    private final Path folder;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private SkinDiskCache(Path folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Loads the index from the given folder. Any file the index doesn't know about, such as PNGs cached by older
+     * versions or data written after the index was last saved, is removed.
+     */
+    static SkinDiskCache load(Path folder) {
+        SkinDiskCache cache = new SkinDiskCache(folder);
+        Path indexFile = folder.resolve(INDEX_FILE);
+        if (Files.exists(indexFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                if (in.readInt() == INDEX_VERSION) {
+                    int size = in.readInt();
+                    for (int i = 0; i < size; i++) {
+                        String key = in.readUTF();
+                        cache.index.put(key, new Entry(in.readUTF(), in.readInt(), in.readLong()));
+                    }
+                }
+            } catch (IOException e) {
+                GeyserImpl.getInstance().getLogger().debug("Unable to read the image cache index, starting over: " + e.getMessage());
+                cache.index.clear();
+            }
+        }
+
+        Set<String> referenced = cache.referencedFiles();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.equals(INDEX_FILE) && !referenced.contains(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to clean up the image cache: " + e.getMessage());
+        }
+        return cache;
+    }
+
+    /**
+     * @return the cached image data, or null if it isn't cached
+     */
+    byte[] get(String key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(folder.resolve(entry.hash + DATA_EXTENSION), StandardOpenOption.READ)) {
+            // These files are a few kilobytes at most, so a single read is cheaper than mapping them
+            ByteBuffer compressed = ByteBuffer.allocate((int) channel.size());
+            while (compressed.hasRemaining() && channel.read(compressed) != -1) {
+            }
+            compressed.flip();
+
+            byte[] data = new byte[entry.length];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                if (inflater.inflate(data) != data.length || !inflater.finished()) {
+                    throw new IOException("Cached image " + entry.hash + " has the wrong size");
+                }
+            } finally {
+                inflater.end();
+            }
+
+            entry.lastUsed = System.currentTimeMillis();
+            dirty = true;
+            return data;
+        } catch (IOException | DataFormatException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to read cached image for " + key + ": " + e.getMessage());
+            index.remove(key, entry);
+            dirty = true;
+            return null;
+        }
+    }
+
+    void put(String key, byte[] data) {
+        String hash = Hashing.sha256().hashBytes(data).toString();
+        Path file = folder.resolve(hash + DATA_EXTENSION);
+        try {
+            if (!Files.exists(file)) {
+                Files.createDirectories(folder);
+                // Write to a temporary file first so a half-written file is never picked up
+                Path temp = Files.createTempFile(folder, hash, ".tmp");
+                try {
+                    Files.write(temp, deflate(data));
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+
+            index.put(key, new Entry(hash, data.length, System.currentTimeMillis()));
+            dirty = true;
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().error("Failed to write cached image to " + file + " for " + key, e);
+        }
+    }
+
+    /**
+     * Removes everything not used within the given time.
+     *
+     * @return how many entries were removed
+     */
+    int expire(long maxAgeMillis) {
+        long expireBefore = System.currentTimeMillis() - maxAgeMillis;
+        Set<String> expiredFiles = new HashSet<>();
+        int count = 0;
+        for (Iterator<Entry> it = index.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.lastUsed < expireBefore) {
+                it.remove();
+                expiredFiles.add(entry.hash + DATA_EXTENSION);
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            dirty = true;
+            // Only delete data that no other URL still points to
+            expiredFiles.removeAll(referencedFiles());
+            for (String file : expiredFiles) {
+                try {
+                    Files.deleteIfExists(folder.resolve(file));
+                } catch (IOException e) {
+                    GeyserImpl.getInstance().getLogger().debug("Unable to delete expired image " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the index to disk, if it changed since the last save.
+     */
+    synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        try {
+            Files.createDirectories(folder);
+            Path temp = Files.createTempFile(folder, INDEX_FILE, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    Map<String, Entry> snapshot = Map.copyOf(index);
+                    out.writeInt(INDEX_VERSION);
+                    out.writeInt(snapshot.size());
+                    for (Map.Entry<String, Entry> entry : snapshot.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        out.writeUTF(entry.getValue().hash);
+                        out.writeInt(entry.getValue().length);
+                        out.writeLong(entry.getValue().lastUsed);
+                    }
+                }
+                Files.move(temp, folder.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            dirty = true;
+            GeyserImpl.getInstance().getLogger().error("Failed to save the image cache index", e);
+        }
+    }
+
+    private Set<String> referencedFiles() {
+        Set<String> files = new HashSet<>();
+        for (Entry entry : index.values()) {
+            files.add(entry.hash + DATA_EXTENSION);
+        }
+        return files;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static final class Entry {
+        private final String hash;
+        private final int length;
+        private volatile long lastUsed;
+
+        private Entry(String hash, int length, long lastUsed) {
+            this.hash = hash;
+            this.length = length;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A non-blocking HTTP client for skin, cape and profile requests.
+ * <p>
+ * Connections are kept alive and reused by the underlying {@link HttpClient}. Each host is limited to a number of
+ * concurrent requests - the rest wait in a queue without holding a thread. If a host keeps failing, requests to it
+ * fail immediately until a cooldown has passed, so a slow texture server doesn't hold up skins from the others.
+ */
+public class SkinHttpClient {
+    private final HttpClient client;
+    private final String userAgent;
+    private final Duration timeout;
+    private final int maxRequestsPerHost;
+    private final int failureThreshold;
+    private final long cooldownNanos;
+
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param userAgent the user agent to send with every request
+     * @param timeout how long to wait for a connection, and then for a response
+     * @param maxRequestsPerHost how many requests may be in flight to one host at once
+     * @param failureThreshold after how many failures in a row requests to a host are rejected
+     * @param cooldown how long requests to a failing host are rejected before it is tried again
+     */
+    public SkinHttpClient(String userAgent, Duration timeout, int maxRequestsPerHost, int failureThreshold, Duration cooldown) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.userAgent = userAgent;
+        this.timeout = timeout;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.failureThreshold = failureThreshold;
+        this.cooldownNanos = cooldown.toNanos();
+    }
+
+    /**
+     * Requests the given URL.
+     *
+     * @param url the URL to fetch
+     * @return the body of the response. Completes exceptionally if the request failed, the response wasn't
+     *         a success (with a {@link StatusException}), or the host is currently being skipped.
+     */
+    public CompletableFuture<byte[]> get(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (uri.getHost() == null) {
+            return CompletableFuture.failedFuture(new IOException("No host in URL " + url));
+        }
+
+        Host host = hosts.computeIfAbsent(uri.getHost(), Host::new);
+        if (host.isOpen()) {
+            return CompletableFuture.failedFuture(host.rejection());
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("User-Agent", userAgent)
+                .GET()
+                .build();
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        host.submit(new PendingRequest(request, result));
+        return result;
+    }
+
+    /**
+     * @return if requests to this host are currently rejected without being sent
+     */
+    public boolean isSkipping(String host) {
+        Host state = hosts.get(host);
+        return state != null && state.isOpen();
+    }
+
+    private void send(Host host, PendingRequest pending) {
+        client.sendAsync(pending.request(), HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, throwable) -> {
+            int status = throwable == null ? response.statusCode() : -1;
+            // A missing cape is a perfectly healthy answer; only count the host as failing if it's unreachable or overloaded
+            host.finished(throwable != null || status >= 500 || status == 429);
+
+            if (throwable != null) {
+                pending.result().completeExceptionally(throwable);
+            } else if (status / 100 != 2) {
+                pending.result().completeExceptionally(new StatusException(status, pending.request().uri()));
+            } else {
+                pending.result().complete(response.body());
+            }
+        });
+    }
+
+    /**
+     * Thrown when the server answered, but not with a success
+     */
+    public static class StatusException extends IOException {
+        private final int status;
+
+        StatusException(int status, URI uri) {
+            super("Got response code " + status + " for " + uri);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private record PendingRequest(HttpRequest request, CompletableFuture<byte[]> result) {
+    }
+
+    private final class Host {
+        private final String name;
+        private final Queue<PendingRequest> queued = new ArrayDeque<>();
+        private int active;
+        private int failures;
+        private long openUntil;
+
+        private Host(String name) {
+            this.name = name;
+        }
+
+        synchronized boolean isOpen() {
+            return failures >= failureThreshold && openUntil - System.nanoTime() > 0;
+        }
+
+        IOException rejection() {
+            return new IOException("Skipping requests to " + name + " after " + failureThreshold + " failures");
+        }
+
+        void submit(PendingRequest pending) {
+            synchronized (this) {
+                if (active >= maxRequestsPerHost) {
+                    queued.add(pending);
+                    return;
+                }
+                active++;
+            }
+            send(this, pending);
+        }
+
+        void finished(boolean failed) {
+            PendingRequest next;
+            List<PendingRequest> rejected = null;
+            synchronized (this) {
+                if (failed) {
+                    // Once over the threshold, every further failure (such as a retry after the cooldown) starts a new cooldown
+                    if (++failures >= failureThreshold) {
+                        openUntil = System.nanoTime() + cooldownNanos;
+                    }
+                } else {
+                    failures = 0;
+                }
+
+                if (isOpen() && !queued.isEmpty()) {
+                    rejected = new ArrayList<>(queued);
+                    queued.clear();
+                }
+                next = queued.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+
+            if (rejected != null) {
+                IOException rejection = rejection();
+                for (PendingRequest pending : rejected) {
+                    pending.result().completeExceptionally(rejection);
+                }
+            }
+            if (next != null) {
+                send(this, next);
+            }
+        }
+    }
+}
@@ -29,7 +29,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.ListTag;
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
-import com.nukkitx.protocol.bedrock.data.skin.ImageData;
 import com.nukkitx.protocol.bedrock.data.skin.SerializedSkin;
 import com.nukkitx.protocol.bedrock.packet.PlayerListPacket;
 import org.geysermc.geyser.GeyserImpl;
@@ -43,7 +42,6 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Collections;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -82,10 +80,9 @@ public class SkinManager {
                                                             String skinId, byte[] skinData,
                                                             String capeId, byte[] capeData,
                                                             SkinProvider.SkinGeometry geometry) {
-        SerializedSkin serializedSkin = SerializedSkin.of(
-                skinId, "", geometry.getGeometryName(), ImageData.of(skinData), Collections.emptyList(),
-                ImageData.of(capeData), geometry.getGeometryData(), "", true, false,
-                !capeId.equals(SkinProvider.EMPTY_CAPE.getCapeId()), capeId, skinId
+        SerializedSkin serializedSkin = SharedSkinData.getSkin(
+                skinId, geometry.getGeometryName(), skinData, capeData, geometry.getGeometryData(),
+                !capeId.equals(SkinProvider.EMPTY_CAPE.getCapeId()), capeId
         );
 
         // This attempts to find the XUID of the player so profile images show up for Xbox accounts
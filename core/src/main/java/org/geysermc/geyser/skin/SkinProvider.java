@@ -47,11 +47,10 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.Predicate;
@@ -59,6 +58,17 @@ import java.util.function.Predicate;
 public class SkinProvider {
     public static final boolean ALLOW_THIRD_PARTY_CAPES = GeyserImpl.getInstance().getConfig().isAllowThirdPartyCapes();
     static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(ALLOW_THIRD_PARTY_CAPES ? 21 : 14);
+    /**
+     * Used for all texture and profile downloads. Waiting on a slow host no longer ties up one of the executor's threads.
+     */
+    static final SkinHttpClient HTTP_CLIENT = new SkinHttpClient(
+            "Geyser-" + GeyserImpl.getInstance().getPlatformType().toString() + "/" + GeyserImpl.VERSION,
+            Duration.ofSeconds(10), 4, 5, Duration.ofSeconds(30));
+    private static final SkinDiskCache DISK_CACHE = GeyserImpl.getInstance().getConfig().getCacheImages() > 0 ?
+            SkinDiskCache.load(GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images")) : null;
+    @Getter
+    private static final ProfileCache profileCache = new ProfileCache(new MojangProfileResolver(HTTP_CLIENT),
+            GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("profiles.bin"));
 
     public static final byte[] STEVE_SKIN = new ProvidedSkin("bedrock/skin/skin_steve.png").getSkin();
     public static final Skin EMPTY_SKIN = new Skin(-1, "steve", STEVE_SKIN);
@@ -116,29 +126,32 @@ public class SkinProvider {
     }
 
     public static void registerCacheImageTask(GeyserImpl geyser) {
+        geyser.getScheduledThread().scheduleAtFixedRate(profileCache::save, 5, 5, TimeUnit.MINUTES);
+
         // Schedule Daily Image Expiry if we are caching them
-        if (geyser.getConfig().getCacheImages() > 0) {
+        if (DISK_CACHE != null) {
             geyser.getScheduledThread().scheduleAtFixedRate(() -> {
-                File cacheFolder = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").toFile();
-                if (!cacheFolder.exists()) {
-                    return;
-                }
-
-                int count = 0;
                 final long expireTime = ((long) GeyserImpl.getInstance().getConfig().getCacheImages()) * ((long)1000 * 60 * 60 * 24);
-                for (File imageFile : Objects.requireNonNull(cacheFolder.listFiles())) {
-                    if (imageFile.lastModified() < System.currentTimeMillis() - expireTime) {
-                        //noinspection ResultOfMethodCallIgnored
-                        imageFile.delete();
-                        count++;
-                    }
-                }
-
+                int count = DISK_CACHE.expire(expireTime);
                 if (count > 0) {
-                    GeyserImpl.getInstance().getLogger().debug(String.format("Removed %d cached image files as they have expired", count));
+                    GeyserImpl.getInstance().getLogger().debug(String.format("Removed %d cached images as they have expired", count));
                 }
+                DISK_CACHE.save();
             }, 10, 1440, TimeUnit.MINUTES);
+
+            // Keep the index close to what is on disk, in case we aren't shut down cleanly
+            geyser.getScheduledThread().scheduleAtFixedRate(DISK_CACHE::save, 5, 5, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Writes any unsaved changes to the image and profile caches to disk.
+     */
+    public static void saveCaches() {
+        if (DISK_CACHE != null) {
+            DISK_CACHE.save();
         }
+        profileCache.save();
     }
 
     public static boolean hasCapeCached(String capeUrl) {
@@ -218,27 +231,31 @@ public class SkinProvider {
     }
 
     public static CompletableFuture<SkinAndCape> requestSkinAndCape(UUID playerId, String skinUrl, String capeUrl) {
-        return CompletableFuture.supplyAsync(() -> {
-            long time = System.currentTimeMillis();
-            String newSkinUrl = skinUrl;
+        long time = System.currentTimeMillis();
+        String newSkinUrl = skinUrl;
 
-            if ("steve".equals(skinUrl) || "alex".equals(skinUrl)) {
-                GeyserSession session = GeyserImpl.getInstance().connectionByUuid(playerId);
+        if ("steve".equals(skinUrl) || "alex".equals(skinUrl)) {
+            GeyserSession session = GeyserImpl.getInstance().connectionByUuid(playerId);
 
-                if (session != null) {
-                    newSkinUrl = session.getClientData().getSkinId();
-                }
+            if (session != null) {
+                newSkinUrl = session.getClientData().getSkinId();
             }
+        }
 
-            CapeProvider provider = capeUrl != null ? CapeProvider.MINECRAFT : null;
-            SkinAndCape skinAndCape = new SkinAndCape(
-                    getOrDefault(requestSkin(playerId, newSkinUrl, false), EMPTY_SKIN, 5),
-                    getOrDefault(requestCape(capeUrl, provider, false), EMPTY_CAPE, 5)
-            );
-
+        CapeProvider provider = capeUrl != null ? CapeProvider.MINECRAFT : null;
+        // The requests may be shared with other players, so only time out our copies of them.
+        // The downloads themselves carry on and are cached once they finish.
+        CompletableFuture<Skin> skin = requestSkin(playerId, newSkinUrl, true).copy()
+                .completeOnTimeout(EMPTY_SKIN, 5, TimeUnit.SECONDS)
+                .exceptionally(throwable -> EMPTY_SKIN);
+        CompletableFuture<Cape> cape = requestCape(capeUrl, provider, true).copy()
+                .completeOnTimeout(EMPTY_CAPE, 5, TimeUnit.SECONDS)
+                .exceptionally(throwable -> EMPTY_CAPE);
+
+        return skin.thenCombine(cape, (requestedSkin, requestedCape) -> {
             GeyserImpl.getInstance().getLogger().debug("Took " + (System.currentTimeMillis() - time) + "ms for " + playerId);
-            return skinAndCape;
-        }, EXECUTOR_SERVICE);
+            return new SkinAndCape(requestedSkin, requestedCape);
+        });
     }
 
     public static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl, boolean newThread) {
@@ -256,13 +273,20 @@ public class SkinProvider {
 
         CompletableFuture<Skin> future;
         if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplySkin(playerId, textureUrl), EXECUTOR_SERVICE)
-                    .whenCompleteAsync((skin, throwable) -> {
-                        skin.updated = true;
-                        cachedSkins.put(textureUrl, skin);
-                        requestedSkins.remove(textureUrl);
-                    });
-            requestedSkins.put(textureUrl, future);
+            future = new CompletableFuture<>();
+            CompletableFuture<Skin> existing = requestedSkins.putIfAbsent(textureUrl, future);
+            if (existing != null) {
+                // Someone else started the same request in the meantime
+                return existing;
+            }
+
+            CompletableFuture<Skin> request = future;
+            supplySkinAsync(playerId, textureUrl).thenAccept(skin -> {
+                skin.updated = true;
+                cachedSkins.put(textureUrl, skin);
+                requestedSkins.remove(textureUrl);
+                request.complete(skin);
+            });
         } else {
             Skin skin = supplySkin(playerId, textureUrl);
             future = CompletableFuture.completedFuture(skin);
@@ -273,7 +297,11 @@ public class SkinProvider {
 
     public static CompletableFuture<Cape> requestCape(String capeUrl, CapeProvider provider, boolean newThread) {
         if (capeUrl == null || capeUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_CAPE);
-        if (requestedCapes.containsKey(capeUrl)) return requestedCapes.get(capeUrl); // already requested
+        CompletableFuture<Cape> requestedCape = requestedCapes.get(capeUrl);
+        if (requestedCape != null) {
+            // already requested
+            return requestedCape;
+        }
 
         Cape cachedCape = cachedCapes.getIfPresent(capeUrl);
         if (cachedCape != null) {
@@ -282,12 +310,18 @@ public class SkinProvider {
 
         CompletableFuture<Cape> future;
         if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplyCape(capeUrl, provider), EXECUTOR_SERVICE)
-                    .whenCompleteAsync((cape, throwable) -> {
-                        cachedCapes.put(capeUrl, cape);
-                        requestedCapes.remove(capeUrl);
-                    });
-            requestedCapes.put(capeUrl, future);
+            future = new CompletableFuture<>();
+            CompletableFuture<Cape> existing = requestedCapes.putIfAbsent(capeUrl, future);
+            if (existing != null) {
+                return existing;
+            }
+
+            CompletableFuture<Cape> request = future;
+            supplyCapeAsync(capeUrl, provider).thenAccept(cape -> {
+                cachedCapes.put(capeUrl, cape);
+                requestedCapes.remove(capeUrl);
+                request.complete(cape);
+            });
         } else {
             Cape cape = supplyCape(capeUrl, provider); // blocking
             future = CompletableFuture.completedFuture(cape);
@@ -371,12 +405,12 @@ public class SkinProvider {
     }
 
     public static void storeBedrockSkin(UUID playerID, String skinID, byte[] skinData) {
-        Skin skin = new Skin(playerID, skinID, skinData, System.currentTimeMillis(), true, false);
+        Skin skin = new Skin(playerID, skinID, SharedSkinData.intern(skinData), System.currentTimeMillis(), true, false);
         cachedSkins.put(skin.getTextureUrl(), skin);
     }
 
     public static void storeBedrockCape(UUID playerID, byte[] capeData) {
-        Cape cape = new Cape(playerID.toString() + ".Bedrock", playerID.toString(), capeData, System.currentTimeMillis(), false);
+        Cape cape = new Cape(playerID.toString() + ".Bedrock", playerID.toString(), SharedSkinData.intern(capeData), System.currentTimeMillis(), false);
         cachedCapes.put(playerID.toString() + ".Bedrock", cape);
     }
 
@@ -406,13 +440,19 @@ public class SkinProvider {
 
     private static Skin supplySkin(UUID uuid, String textureUrl) {
         try {
-            byte[] skin = requestImage(textureUrl, null);
+            byte[] skin = SharedSkinData.intern(requestImage(textureUrl, null));
             return new Skin(uuid, textureUrl, skin, System.currentTimeMillis(), false, false);
         } catch (Exception ignored) {} // just ignore I guess
 
         return new Skin(uuid, "empty", EMPTY_SKIN.getSkinData(), System.currentTimeMillis(), false, false);
     }
 
+    private static CompletableFuture<Skin> supplySkinAsync(UUID uuid, String textureUrl) {
+        return requestImageAsync(textureUrl, null)
+                .thenApply(skin -> new Skin(uuid, textureUrl, SharedSkinData.intern(skin), System.currentTimeMillis(), false, false))
+                .exceptionally(throwable -> new Skin(uuid, "empty", EMPTY_SKIN.getSkinData(), System.currentTimeMillis(), false, false));
+    }
+
     private static Cape supplyCape(String capeUrl, CapeProvider provider) {
         byte[] cape = EMPTY_CAPE.getCapeData();
         try {
@@ -420,12 +460,22 @@ public class SkinProvider {
         } catch (Exception ignored) {
         } // just ignore I guess
 
+        return createCape(capeUrl, cape);
+    }
+
+    private static CompletableFuture<Cape> supplyCapeAsync(String capeUrl, CapeProvider provider) {
+        return requestImageAsync(capeUrl, provider)
+                .exceptionally(throwable -> EMPTY_CAPE.getCapeData())
+                .thenApply(cape -> createCape(capeUrl, cape));
+    }
+
+    private static Cape createCape(String capeUrl, byte[] cape) {
         String[] urlSection = capeUrl.split("/"); // A real url is expected at this stage
 
         return new Cape(
                 capeUrl,
                 urlSection[urlSection.length - 1], // get the texture id and use it as cape id
-                cape,
+                SharedSkinData.intern(cape),
                 System.currentTimeMillis(),
                 cape.length == 0
         );
@@ -455,7 +505,7 @@ public class SkinProvider {
             g.drawImage(ears, 24, 0, null);
 
             // Turn the buffered image back into an array of bytes
-            byte[] data = bufferedImageToImageData(newSkin);
+            byte[] data = SharedSkinData.intern(bufferedImageToImageData(newSkin));
             skinImage.flush();
 
             // Create a new skin object with the new infomation
@@ -472,37 +522,70 @@ public class SkinProvider {
         return existingSkin;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     private static byte[] requestImage(String imageUrl, CapeProvider provider) throws Exception {
-        BufferedImage image = null;
-
-        // First see if we have a cached file. We also update the modification stamp so we know when the file was last used
-        File imageFile = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").resolve(UUID.nameUUIDFromBytes(imageUrl.getBytes()).toString() + ".png").toFile();
-        if (imageFile.exists()) {
-            try {
-                GeyserImpl.getInstance().getLogger().debug("Reading cached image from file " + imageFile.getPath() + " for " + imageUrl);
-                imageFile.setLastModified(System.currentTimeMillis());
-                image = ImageIO.read(imageFile);
-            } catch (IOException ignored) {}
+        // First see if we have it cached
+        String cacheKey = getCacheKey(imageUrl, provider);
+        byte[] data = DISK_CACHE != null ? DISK_CACHE.get(cacheKey) : null;
+        if (data != null) {
+            return data;
         }
 
-        // If no image we download it
-        if (image == null) {
-            image = downloadImage(imageUrl, provider);
-            GeyserImpl.getInstance().getLogger().debug("Downloaded " + imageUrl);
-
-            // Write to cache if we are allowed
-            if (GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
-                imageFile.getParentFile().mkdirs();
-                try {
-                    ImageIO.write(image, "png", imageFile);
-                    GeyserImpl.getInstance().getLogger().debug("Writing cached skin to file " + imageFile.getPath() + " for " + imageUrl);
-                } catch (IOException e) {
-                    GeyserImpl.getInstance().getLogger().error("Failed to write cached skin to file " + imageFile.getPath() + " for " + imageUrl);
-                }
-            }
+        // If not we download it
+        data = toImageData(downloadImage(imageUrl, provider), provider);
+        if (DISK_CACHE != null) {
+            DISK_CACHE.put(cacheKey, data);
         }
+        return data;
+    }
+
+    /**
+     * Same as {@link #requestImage(String, CapeProvider)}, but downloads without blocking a thread. Reading the cache,
+     * as well as decoding and resizing the image, is done on the {@link #EXECUTOR_SERVICE}.
+     */
+    private static CompletableFuture<byte[]> requestImageAsync(String imageUrl, CapeProvider provider) {
+        String cacheKey = getCacheKey(imageUrl, provider);
+        return CompletableFuture.supplyAsync(() -> DISK_CACHE != null ? DISK_CACHE.get(cacheKey) : null, EXECUTOR_SERVICE)
+                .thenCompose(cached -> {
+                    if (cached != null) {
+                        return CompletableFuture.completedFuture(cached);
+                    }
+                    if (provider == CapeProvider.FIVEZIG) {
+                        // The image is wrapped in JSON
+                        return CompletableFuture.supplyAsync(() -> {
+                            try {
+                                return requestImage(imageUrl, provider);
+                            } catch (Exception e) {
+                                throw new CompletionException(e);
+                            }
+                        }, EXECUTOR_SERVICE);
+                    }
+
+                    return HTTP_CLIENT.get(imageUrl).thenApplyAsync(body -> {
+                        try {
+                            BufferedImage image = ImageIO.read(new ByteArrayInputStream(body));
+                            if (image == null) throw new NullPointerException();
+                            GeyserImpl.getInstance().getLogger().debug("Downloaded " + imageUrl);
+
+                            byte[] data = toImageData(image, provider);
+                            if (DISK_CACHE != null) {
+                                DISK_CACHE.put(cacheKey, data);
+                            }
+                            return data;
+                        } catch (IOException e) {
+                            throw new CompletionException(e);
+                        }
+                    }, EXECUTOR_SERVICE);
+                });
+    }
 
+    /**
+     * Capes and skins are resized differently, so the same URL is cached separately for each
+     */
+    private static String getCacheKey(String imageUrl, CapeProvider provider) {
+        return (provider != null ? "cape:" : "skin:") + imageUrl;
+    }
+
+    private static byte[] toImageData(BufferedImage image, CapeProvider provider) {
         // if the requested image is a cape
         if (provider != null) {
             if (image.getWidth() > 64 || image.getHeight() > 32) {
@@ -545,61 +628,60 @@ public class SkinProvider {
      * @return a completable GameProfile with textures included
      */
     public static CompletableFuture<String> requestTexturesFromUsername(CompoundTag skullOwner) {
-        return CompletableFuture.supplyAsync(() -> {
-            Tag uuidTag = skullOwner.get("Id");
-            String uuidToString = "";
-            JsonNode node;
-            boolean retrieveUuidFromInternet = !(uuidTag instanceof IntArrayTag); // also covers null check
-
-            if (!retrieveUuidFromInternet) {
-                int[] uuidAsArray = ((IntArrayTag) uuidTag).getValue();
-                // thank u viaversion
-                UUID uuid = new UUID((long) uuidAsArray[0] << 32 | ((long) uuidAsArray[1] & 0xFFFFFFFFL),
-                        (long) uuidAsArray[2] << 32 | ((long) uuidAsArray[3] & 0xFFFFFFFFL));
-                retrieveUuidFromInternet = uuid.version() != 4;
-                uuidToString = uuid.toString().replace("-", "");
+        Tag uuidTag = skullOwner.get("Id");
+        String uuidToString = "";
+        boolean retrieveUuidFromInternet = !(uuidTag instanceof IntArrayTag); // also covers null check
+
+        if (!retrieveUuidFromInternet) {
+            int[] uuidAsArray = ((IntArrayTag) uuidTag).getValue();
+            // thank u viaversion
+            UUID uuid = new UUID((long) uuidAsArray[0] << 32 | ((long) uuidAsArray[1] & 0xFFFFFFFFL),
+                    (long) uuidAsArray[2] << 32 | ((long) uuidAsArray[3] & 0xFFFFFFFFL));
+            retrieveUuidFromInternet = uuid.version() != 4;
+            uuidToString = uuid.toString().replace("-", "");
+        }
+
+        CompletableFuture<String> uuidFuture;
+        if (retrieveUuidFromInternet) {
+            // Offline skin, or no present UUID
+            Tag nameTag = skullOwner.get("Name");
+            if (nameTag == null) {
+                return CompletableFuture.completedFuture(null);
             }
+            uuidFuture = profileCache.getUuid(String.valueOf(nameTag.getValue()));
+        } else {
+            uuidFuture = CompletableFuture.completedFuture(uuidToString);
+        }
 
-            try {
-                if (retrieveUuidFromInternet) {
-                    // Offline skin, or no present UUID
-                    node = WebUtils.getJson("https://api.mojang.com/users/profiles/minecraft/" + skullOwner.get("Name").getValue());
-                    JsonNode id = node.get("id");
-                    if (id == null) {
-                        GeyserImpl.getInstance().getLogger().debug("No UUID found in Mojang response for " + skullOwner.get("Name").getValue());
-                        return null;
-                    }
-                    uuidToString = id.asText();
-                }
+        return uuidFuture.thenCompose(uuid -> {
+            if (uuid == null) {
+                return CompletableFuture.completedFuture(null);
+            }
 
-                // Get textures from UUID
-                node = WebUtils.getJson("https://sessionserver.mojang.com/session/minecraft/profile/" + uuidToString);
-                JsonNode properties = node.get("properties");
-                if (properties == null) {
-                    GeyserImpl.getInstance().getLogger().debug("No properties found in Mojang response for " + uuidToString);
-                    return null;
-                }
-                return node.get("properties").get(0).get("value").asText();
-            } catch (Exception e) {
-                if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
-                    e.printStackTrace();
-                }
-                return null;
+            // Get textures from UUID
+            return profileCache.getTextures(uuid);
+        }).exceptionally(throwable -> {
+            if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
+                throwable.printStackTrace();
             }
-        }, EXECUTOR_SERVICE);
+            return null;
+        });
     }
 
     private static BufferedImage downloadImage(String imageUrl, CapeProvider provider) throws IOException {
         if (provider == CapeProvider.FIVEZIG)
             return readFiveZigCape(imageUrl);
 
-        HttpURLConnection con = (HttpURLConnection) new URL(imageUrl).openConnection();
-        con.setRequestProperty("User-Agent", "Geyser-" + GeyserImpl.getInstance().getPlatformType().toString() + "/" + GeyserImpl.VERSION);
-        con.setConnectTimeout(10000);
-        con.setReadTimeout(10000);
+        byte[] body;
+        try {
+            body = HTTP_CLIENT.get(imageUrl).join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to download " + imageUrl, e.getCause());
+        }
 
-        BufferedImage image = ImageIO.read(con.getInputStream());
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(body));
         if (image == null) throw new NullPointerException();
+        GeyserImpl.getInstance().getLogger().debug("Downloaded " + imageUrl);
         return image;
     }
 
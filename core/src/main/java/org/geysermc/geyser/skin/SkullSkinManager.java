@@ -25,7 +25,6 @@
 
 package org.geysermc.geyser.skin;
 
-import com.nukkitx.protocol.bedrock.data.skin.ImageData;
 import com.nukkitx.protocol.bedrock.data.skin.SerializedSkin;
 import com.nukkitx.protocol.bedrock.packet.PlayerSkinPacket;
 import org.geysermc.geyser.GeyserImpl;
@@ -33,7 +32,6 @@ import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
 
-import java.util.Collections;
 import java.util.function.Consumer;
 
 public class SkullSkinManager extends SkinManager {
@@ -41,10 +39,9 @@ public class SkullSkinManager extends SkinManager {
     public static SerializedSkin buildSkullEntryManually(String skinId, byte[] skinData) {
         // Prevents https://cdn.discordapp.com/attachments/613194828359925800/779458146191147008/unknown.png
         skinId = skinId + "_skull";
-        return SerializedSkin.of(
-                skinId, "", SkinProvider.SKULL_GEOMETRY.getGeometryName(), ImageData.of(skinData), Collections.emptyList(),
-                ImageData.of(SkinProvider.EMPTY_CAPE.getCapeData()), SkinProvider.SKULL_GEOMETRY.getGeometryData(),
-                "", true, false, false, SkinProvider.EMPTY_CAPE.getCapeId(), skinId
+        return SharedSkinData.getSkin(
+                skinId, SkinProvider.SKULL_GEOMETRY.getGeometryName(), skinData, SkinProvider.EMPTY_CAPE.getCapeData(),
+                SkinProvider.SKULL_GEOMETRY.getGeometryData(), false, SkinProvider.EMPTY_CAPE.getCapeId()
         );
     }
 
@@ -28,6 +28,8 @@ package org.geysermc.geyser.text;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import lombok.Getter;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.network.MinecraftProtocol;
@@ -39,25 +41,27 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipFile;
 
 public class MinecraftLocale {
 
-    public static final Map<String, Map<String, String>> LOCALE_MAPPINGS = new HashMap<>();
-
-    private static final Map<String, Asset> ASSET_MAP = new HashMap<>();
-
-    private static VersionDownload clientJarInfo;
+    /**
+     * Loaded locales, by Bedrock locale code. A locale is never loaded twice.
+     */
+    private static final Map<String, LocaleStrings> LOCALE_MAPPINGS = new ConcurrentHashMap<>();
+    /**
+     * Locales being loaded right now, so sessions joining with the same language wait for one load.
+     */
+    private static final Map<String, CompletableFuture<Void>> LOADING_LOCALES = new ConcurrentHashMap<>();
+    /**
+     * Translation keys are the same in every locale, and many values are too.
+     */
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
 
-    static {
-        // Create the locales folder
-        File localesFolder = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("locales").toFile();
-        //noinspection ResultOfMethodCallIgnored
-        localesFolder.mkdir();
+    private static final Map<String, Asset> ASSET_MAP = new ConcurrentHashMap<>();
 
-        // Download the latest asset list and cache it
-        generateAssetCache().whenComplete((aVoid, ex) -> downloadAndLoadLocale(GeyserLocale.getDefaultLocale()));
-    }
+    private static volatile VersionDownload clientJarInfo;
 
     /**
      * Fetch the latest versions asset cache from Mojang so we can grab the locale files later
@@ -113,27 +117,57 @@ public class MinecraftLocale {
     }
 
     /**
-     * Downloads a locale from Mojang if its not already loaded
+     * @return whether the given Bedrock locale has been loaded
+     */
+    public static boolean isLocaleLoaded(String locale) {
+        return LOCALE_MAPPINGS.containsKey(locale.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Downloads a locale from Mojang if its not already loaded. If another thread is loading the same locale,
+     * this waits for it to finish instead.
      *
      * @param locale Locale to download and load
      */
     public static void downloadAndLoadLocale(String locale) {
         locale = locale.toLowerCase(Locale.ROOT);
+        String bedrockLocale = locale;
+        if (LOCALE_MAPPINGS.containsKey(bedrockLocale)) {
+            return;
+        }
+
         if (locale.equals("nb_no")) {
             // Different locale code - https://minecraft.fandom.com/wiki/Language
             locale = "no_no";
         }
 
-        // Check the locale isn't already loaded
+        // Check the locale is valid
         if (!ASSET_MAP.containsKey("minecraft/lang/" + locale + ".json") && !locale.equals("en_us")) {
             GeyserImpl.getInstance().getLogger().warning(GeyserLocale.getLocaleStringLog("geyser.locale.fail.invalid", locale));
             return;
         }
 
-        GeyserImpl.getInstance().getLogger().debug("Downloading and loading locale: " + locale);
+        CompletableFuture<Void> loading = new CompletableFuture<>();
+        CompletableFuture<Void> existing = LOADING_LOCALES.putIfAbsent(locale, loading);
+        if (existing != null) {
+            existing.join();
+            return;
+        }
 
-        downloadLocale(locale);
-        loadLocale(locale);
+        try {
+            // Another thread may have finished loading this locale between our first check and putIfAbsent
+            if (LOCALE_MAPPINGS.containsKey(bedrockLocale)) {
+                return;
+            }
+
+            GeyserImpl.getInstance().getLogger().debug("Downloading and loading locale: " + locale);
+
+            downloadLocale(locale);
+            loadLocale(locale);
+        } finally {
+            LOADING_LOCALES.remove(locale, loading);
+            loading.complete(null);
+        }
     }
 
     /**
@@ -222,7 +256,7 @@ public class MinecraftLocale {
 
             // Parse all the locale fields
             Iterator<Map.Entry<String, JsonNode>> localeIterator = localeObj.fields();
-            Map<String, String> langMap = new HashMap<>();
+            Map<String, String> langMap = new TreeMap<>();
             while (localeIterator.hasNext()) {
                 Map.Entry<String, JsonNode> entry = localeIterator.next();
                 langMap.put(entry.getKey(), entry.getValue().asText());
@@ -235,7 +269,7 @@ public class MinecraftLocale {
             }
 
             // Insert the locale into the mappings
-            LOCALE_MAPPINGS.put(bedrockLocale, langMap);
+            LOCALE_MAPPINGS.put(bedrockLocale, new LocaleStrings(langMap));
 
             try {
                 localeStream.close();
@@ -300,7 +334,7 @@ public class MinecraftLocale {
      * @return Translated string or the original message if it was not found in the given locale
      */
     public static String getLocaleString(String messageText, String locale) {
-        Map<String, String> localeStrings = MinecraftLocale.LOCALE_MAPPINGS.get(locale.toLowerCase());
+        LocaleStrings localeStrings = MinecraftLocale.LOCALE_MAPPINGS.get(locale.toLowerCase());
         if (localeStrings == null) {
             localeStrings = MinecraftLocale.LOCALE_MAPPINGS.get(GeyserLocale.getDefaultLocale());
             if (localeStrings == null) {
@@ -327,8 +361,51 @@ public class MinecraftLocale {
         return result.toString();
     }
 
+    /**
+     * Creates the locales folder and starts downloading the asset list and preloaded locales. Kept out of the static
+     * initializer so lookups such as {@link #isLocaleLoaded(String)} work without a Geyser instance.
+     */
     public static void init() {
-        // no-op
+        // Create the locales folder
+        File localesFolder = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("locales").toFile();
+        //noinspection ResultOfMethodCallIgnored
+        localesFolder.mkdir();
+
+        // Download the latest asset list and cache it
+        generateAssetCache().whenComplete((aVoid, ex) -> {
+            downloadAndLoadLocale(GeyserLocale.getDefaultLocale());
+            for (String locale : GeyserImpl.getInstance().getConfig().getPreloadLocales()) {
+                downloadAndLoadLocale(locale);
+            }
+        });
+    }
+
+    /**
+     * The strings of a locale, kept as a sorted array of keys and an array of values. Both are interned, so the keys
+     * are only held once no matter how many locales are loaded.
+     */
+    private static final class LocaleStrings {
+        private final String[] keys;
+        private final String[] values;
+
+        /**
+         * @param strings sorted by key
+         */
+        private LocaleStrings(Map<String, String> strings) {
+            this.keys = new String[strings.size()];
+            this.values = new String[strings.size()];
+            int i = 0;
+            for (Map.Entry<String, String> entry : strings.entrySet()) {
+                keys[i] = STRINGS.intern(entry.getKey());
+                values[i] = STRINGS.intern(entry.getValue());
+                i++;
+            }
+        }
+
+        private String getOrDefault(String key, String defaultValue) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? values[index] : defaultValue;
+        }
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.inventory.item;
+
+import com.github.steveice10.opennbt.tag.builtin.*;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the translation of items with NBT, as the same named and enchanted items are translated over and over
+ * again in inventories and equipment. Shared by every session using the same protocol version and language.
+ */
+final class ItemTranslationCache {
+    private static final Cache<Key, ItemData> CACHE = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .maximumSize(4096)
+            .build();
+
+    private ItemTranslationCache() {
+    }
+
+    /**
+     * @param translator translates the item if it isn't cached. Must not have side effects on the session.
+     * @return a copy of the translated item that the caller may modify
+     */
+    static ItemData get(int protocolVersion, String locale, boolean advancedTooltips, int javaId, int amount,
+                        CompoundTag nbt, Supplier<ItemData> translator) {
+        Key key = new Key(protocolVersion, locale, advancedTooltips, javaId, amount, nbt);
+        ItemData itemData = CACHE.getIfPresent(key);
+        if (itemData == null) {
+            itemData = translator.get();
+            // The key must not change while it's cached, and the caller still owns this tag
+            CACHE.put(new Key(protocolVersion, locale, advancedTooltips, javaId, amount, nbt == null ? null : nbt.clone()), itemData);
+        }
+        // Callers set their own network IDs on the item
+        return itemData.toBuilder().build();
+    }
+
+    /**
+     * A structural hash of a tag, which is consistent with {@link Tag#equals(Object)}.
+     */
+    private static int hash(Tag tag) {
+        int hash = 31 * tag.getName().hashCode();
+        if (tag instanceof CompoundTag compound) {
+            // The order of entries in a compound tag doesn't matter
+            for (Tag child : compound) {
+                hash += hash(child);
+            }
+        } else if (tag instanceof ListTag list) {
+            for (Tag child : list) {
+                hash = 31 * hash + hash(child);
+            }
+        } else if (tag instanceof ByteArrayTag byteArray) {
+            hash += Arrays.hashCode(byteArray.getValue());
+        } else if (tag instanceof IntArrayTag intArray) {
+            hash += Arrays.hashCode(intArray.getValue());
+        } else if (tag instanceof LongArrayTag longArray) {
+            hash += Arrays.hashCode(longArray.getValue());
+        } else {
+            hash += Objects.hashCode(tag.getValue());
+        }
+        return hash;
+    }
+
+    private static final class Key {
+        private final int protocolVersion;
+        private final String locale;
+        private final boolean advancedTooltips;
+        private final int javaId;
+        private final int amount;
+        private final CompoundTag nbt;
+        private final int hash;
+
+        private Key(int protocolVersion, String locale, boolean advancedTooltips, int javaId, int amount, CompoundTag nbt) {
+            this.protocolVersion = protocolVersion;
+            this.locale = locale;
+            this.advancedTooltips = advancedTooltips;
+            this.javaId = javaId;
+            this.amount = amount;
+            this.nbt = nbt;
+
+            int hash = Objects.hash(protocolVersion, locale, advancedTooltips, javaId, amount);
+            this.hash = nbt == null ? hash : 31 * hash + hash(nbt);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return hash == other.hash && protocolVersion == other.protocolVersion && advancedTooltips == other.advancedTooltips
+                    && javaId == other.javaId && amount == other.amount && Objects.equals(locale, other.locale) && Objects.equals(nbt, other.nbt);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -141,6 +141,21 @@ public abstract class ItemTranslator {
             return ItemData.AIR;
         }
 
+        if (stack.getNbt() == null && !session.isAdvancedTooltips() && !bedrockItem.hasTranslation()
+                && !bedrockItem.getJavaIdentifier().equals("minecraft:filled_map")) {
+            // A plain item, which has no NBT to translate and nothing worth caching
+            return translateToBedrock(session, stack, bedrockItem);
+        }
+        if (bedrockItem.getJavaIdentifier().equals("minecraft:compass")) {
+            // Lodestone compasses are registered with the session as they're translated
+            return translateToBedrock(session, stack, bedrockItem);
+        }
+
+        return ItemTranslationCache.get(session.getUpstream().getProtocolVersion(), session.getLocale(), session.isAdvancedTooltips(),
+                stack.getId(), stack.getAmount(), stack.getNbt(), () -> translateToBedrock(session, stack, bedrockItem));
+    }
+
+    private static ItemData translateToBedrock(GeyserSession session, ItemStack stack, ItemMapping bedrockItem) {
         CompoundTag nbt = stack.getNbt() != null ? stack.getNbt().clone() : null;
 
         // This is a fallback for maps with no nbt
@@ -32,16 +32,12 @@ import com.github.steveice10.opennbt.tag.builtin.StringTag;
 import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.nbt.NbtMapBuilder;
-import com.nukkitx.protocol.bedrock.data.entity.EntityFlag;
-import org.geysermc.geyser.entity.type.player.SkullPlayerEntity;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.skin.SkinProvider;
-import org.geysermc.geyser.skin.SkullSkinManager;
 
 import java.util.LinkedHashMap;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 @BlockEntity(type = BlockEntityType.SKULL)
 public class SkullBlockEntityTranslator extends BlockEntityTranslator implements RequiresBlockState {
@@ -114,25 +110,7 @@ public class SkullBlockEntityTranslator extends BlockEntityTranslator implements
 
     private static void spawnPlayer(GeyserSession session, String texturesProperty, Vector3i blockPosition,
                                     Vector3f entityPosition, float rotation, int blockState) {
-        long geyserId = session.getEntityCache().getNextEntityId().incrementAndGet();
-
-        SkullPlayerEntity existingSkull = session.getSkullCache().get(blockPosition);
-        if (existingSkull != null) {
-            // Ensure that two skulls can't spawn on the same point
-            existingSkull.despawnEntity(blockPosition);
-        }
-
-        SkullPlayerEntity player = new SkullPlayerEntity(session, geyserId, entityPosition, rotation, blockState, texturesProperty);
-
-        // Cache entity
-        session.getSkullCache().put(blockPosition, player);
-
-        player.spawnEntity();
-
-        SkullSkinManager.requestAndHandleSkin(player, session, (skin -> session.scheduleInEventLoop(() -> {
-            // Delay to minimize split-second "player" pop-in
-            player.setFlag(EntityFlag.INVISIBLE, false);
-            player.updateBedrockMetadata();
-        }, 250, TimeUnit.MILLISECONDS)));
+        // The entity itself is only spawned once the skull is close enough to the player
+        session.getSkullCache().putSkull(blockPosition, texturesProperty, blockState, entityPosition, rotation);
     }
 }
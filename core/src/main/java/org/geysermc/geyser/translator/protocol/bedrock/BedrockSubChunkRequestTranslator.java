@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.bedrock;
+
+import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.math.vector.Vector3i;
+import com.nukkitx.nbt.NBTOutputStream;
+import com.nukkitx.nbt.NbtMap;
+import com.nukkitx.nbt.NbtUtils;
+import com.nukkitx.protocol.bedrock.data.HeightMapDataType;
+import com.nukkitx.protocol.bedrock.data.SubChunkData;
+import com.nukkitx.protocol.bedrock.data.SubChunkRequestResult;
+import com.nukkitx.protocol.bedrock.packet.SubChunkPacket;
+import com.nukkitx.protocol.bedrock.packet.SubChunkRequestPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.level.chunk.CompactSection;
+import org.geysermc.geyser.level.chunk.GeyserChunk;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.geysermc.geyser.translator.protocol.Translator;
+import org.geysermc.geyser.translator.protocol.java.level.JavaLevelChunkWithLightTranslator;
+import org.geysermc.geyser.util.DimensionUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.geysermc.geyser.util.ChunkUtils.*;
+
+/**
+ * Sent by clients that were told to request the sections of a chunk column themselves. The requested sections are
+ * translated from the chunk cache and sent back nearest to the player first.
+ */
+@Translator(packet = SubChunkRequestPacket.class)
+public class BedrockSubChunkRequestTranslator extends PacketTranslator<SubChunkRequestPacket> {
+    private static final byte[] EMPTY_DATA = new byte[0];
+
+    @Override
+    public void translate(GeyserSession session, SubChunkRequestPacket packet) {
+        Vector3i center = packet.getSubChunkPosition();
+        int dimension = DimensionUtils.javaToBedrock(session.getDimension());
+
+        // Translate what the player is most likely to see first
+        Vector3f position = session.getPlayerEntity().getPosition();
+        List<Vector3i> offsets = new ArrayList<>(packet.getPositionOffsets());
+        offsets.sort(Comparator.comparingDouble(offset -> position.distanceSquared(
+                ((center.getX() + offset.getX()) << 4) + 8,
+                ((center.getY() + offset.getY()) << 4) + 8,
+                ((center.getZ() + offset.getZ()) << 4) + 8)));
+
+        SubChunkPacket subChunkPacket = new SubChunkPacket();
+        subChunkPacket.setDimension(dimension);
+        subChunkPacket.setCenterPosition(center);
+        subChunkPacket.setCacheEnabled(false);
+        for (Vector3i offset : offsets) {
+            SubChunkData subChunk = new SubChunkData();
+            subChunk.setPosition(offset);
+            subChunk.setHeightMapType(HeightMapDataType.NO_DATA);
+            subChunk.setData(EMPTY_DATA);
+            if (packet.getDimension() != dimension) {
+                subChunk.setResult(SubChunkRequestResult.INVALID_DIMENSION);
+            } else {
+                translateSubChunk(session, center.add(offset), subChunk);
+            }
+            subChunkPacket.getSubChunks().add(subChunk);
+        }
+        session.sendUpstreamPacket(subChunkPacket);
+    }
+
+    private static void translateSubChunk(GeyserSession session, Vector3i subChunkPosition, SubChunkData subChunk) {
+        ChunkCache chunkCache = session.getChunkCache();
+        GeyserChunk chunk = chunkCache.getColumn(subChunkPosition.getX(), subChunkPosition.getZ());
+        if (chunk == null) {
+            subChunk.setResult(SubChunkRequestResult.CHUNK_NOT_FOUND);
+            return;
+        }
+
+        boolean overworld = chunkCache.isExtendedHeight();
+        int sectionY = subChunkPosition.getY();
+        if (sectionY < ((overworld ? MINIMUM_ACCEPTED_HEIGHT_OVERWORLD : MINIMUM_ACCEPTED_HEIGHT) >> 4)
+                || sectionY >= ((overworld ? MAXIMUM_ACCEPTED_HEIGHT_OVERWORLD : MAXIMUM_ACCEPTED_HEIGHT) >> 4)) {
+            subChunk.setResult(SubChunkRequestResult.Y_INDEX_OUT_OF_BOUNDS);
+            return;
+        }
+
+        int javaSectionY = sectionY - chunkCache.getChunkMinY();
+        CompactSection javaSection = javaSectionY >= 0 && javaSectionY < chunk.sections().length ? chunk.sections()[javaSectionY] : null;
+        if (javaSection == null || (javaSection.isSingleton() && javaSection.get(0) == BlockStateValues.JAVA_AIR_ID)) {
+            // Either outside the Java world's height, or nothing has been placed here
+            subChunk.setResult(SubChunkRequestResult.SUCCESS_ALL_AIR);
+            return;
+        }
+
+        JavaLevelChunkWithLightTranslator.TranslatedSection translated = JavaLevelChunkWithLightTranslator.translateSection(session,
+                javaSection, subChunkPosition.getX() << 4, sectionY << 4, subChunkPosition.getZ() << 4);
+
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.heapBuffer(translated.section().estimateNetworkSize());
+        try {
+            translated.section().writeToNetwork(byteBuf, sectionY);
+
+            // Block entities follow the section they are in
+            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
+            if (chunk.bedrockBlockEntities() != null) {
+                for (NbtMap blockEntity : chunk.bedrockBlockEntities().values()) {
+                    if (blockEntity.getInt("y") >> 4 == sectionY) {
+                        nbtStream.writeTag(blockEntity);
+                    }
+                }
+            }
+            for (NbtMap blockEntity : translated.bedrockOnlyBlockEntities()) {
+                nbtStream.writeTag(blockEntity);
+            }
+
+            byte[] data = new byte[byteBuf.readableBytes()];
+            byteBuf.readBytes(data);
+            subChunk.setData(data);
+            subChunk.setResult(SubChunkRequestResult.SUCCESS);
+        } catch (IOException e) {
+            session.getGeyser().getLogger().error("IO error while encoding sub-chunk", e);
+            subChunk.setResult(SubChunkRequestResult.CHUNK_NOT_FOUND);
+        } finally {
+            byteBuf.release();
+        }
+    }
+}
@@ -34,6 +34,13 @@ import com.github.steveice10.mc.protocol.data.game.recipe.data.ShapelessRecipeDa
 import com.github.steveice10.mc.protocol.data.game.recipe.data.SmithingRecipeData;
 import com.github.steveice10.mc.protocol.data.game.recipe.data.StoneCuttingRecipeData;
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundUpdateRecipesPacket;
+import com.github.steveice10.packetlib.io.stream.StreamNetOutput;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.nukkitx.nbt.NbtMap;
 import com.nukkitx.protocol.bedrock.data.inventory.CraftingData;
 import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
@@ -53,7 +60,11 @@ import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.ItemMapping;
 import org.geysermc.geyser.util.InventoryUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.geysermc.geyser.util.InventoryUtils.LAST_RECIPE_NET_ID;
@@ -75,8 +86,57 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
             CraftingData.fromMulti(UUID.fromString("602234e4-cac1-4353-8bb7-b1ebff70024b"), ++LAST_RECIPE_NET_ID) // Map locking
     );
 
+    /**
+     * Every player behind the same server is sent the same recipes, so the translated recipes are shared between
+     * sessions that would translate them the same way.
+     */
+    private static final Cache<RecipesKey, TranslatedRecipes> TRANSLATED_RECIPES = CacheBuilder.newBuilder()
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .maximumSize(16)
+            .build();
+
     @Override
     public void translate(GeyserSession session, ClientboundUpdateRecipesPacket packet) {
+        TranslatedRecipes recipes;
+        HashCode digest = digest(packet);
+        if (digest == null) {
+            recipes = translateRecipes(session, packet);
+        } else {
+            RecipesKey key = new RecipesKey(digest, session.getUpstream().getProtocolVersion(), session.getLocale(), session.isAdvancedTooltips());
+            try {
+                // Sessions joining at the same time wait for the first one to finish, instead of all translating
+                recipes = TRANSLATED_RECIPES.get(key, () -> translateRecipes(session, packet));
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
+        craftingDataPacket.setCleanRecipes(true);
+        craftingDataPacket.getCraftingData().addAll(recipes.craftingData());
+        craftingDataPacket.getPotionMixData().addAll(Registries.POTION_MIXES.get());
+
+        session.sendUpstreamPacket(craftingDataPacket);
+        // Recipes can be added to this session later on, so it needs its own copy
+        session.setCraftingRecipes(new Int2ObjectOpenHashMap<>(recipes.recipeMap()));
+        session.setStonecutterRecipes(recipes.stonecutterRecipes());
+        session.getLastRecipeNetId().set(recipes.lastNetId());
+    }
+
+    /**
+     * @return a digest of the packet as the server sent it, or null if it could not be written
+     */
+    private static HashCode digest(ClientboundUpdateRecipesPacket packet) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        try (OutputStream stream = Funnels.asOutputStream(hasher)) {
+            packet.write(new StreamNetOutput(stream));
+        } catch (IOException e) {
+            return null;
+        }
+        return hasher.hash();
+    }
+
+    private TranslatedRecipes translateRecipes(GeyserSession session, ClientboundUpdateRecipesPacket packet) {
         Map<RecipeType, List<CraftingData>> recipeTypes = Registries.CRAFTING_DATA.forVersion(session.getUpstream().getProtocolVersion());
         // Get the last known network ID (first used for the pregenerated recipes) and increment from there.
         int netId = InventoryUtils.LAST_RECIPE_NET_ID + 1;
@@ -85,8 +145,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
 
         Int2ObjectMap<GeyserRecipe> recipeMap = new Int2ObjectOpenHashMap<>(Registries.RECIPES.forVersion(session.getUpstream().getProtocolVersion()));
         Int2ObjectMap<List<StoneCuttingRecipeData>> unsortedStonecutterData = new Int2ObjectOpenHashMap<>();
-        CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
-        craftingDataPacket.setCleanRecipes(true);
+        List<CraftingData> craftingData = new ArrayList<>();
         for (Recipe recipe : packet.getRecipes()) {
             switch (recipe.getType()) {
                 case CRAFTING_SHAPELESS -> {
@@ -101,7 +160,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     ItemData[][] inputCombinations = combinations(session, shapelessRecipeData.getIngredients());
                     for (ItemData[] inputs : inputCombinations) {
                         UUID uuid = UUID.randomUUID();
-                        craftingDataPacket.getCraftingData().add(CraftingData.fromShapeless(uuid.toString(),
+                        craftingData.add(CraftingData.fromShapeless(uuid.toString(),
                                 Arrays.asList(inputs), Collections.singletonList(output), uuid, "crafting_table", 0, netId));
                         recipeMap.put(netId++, new GeyserShapelessRecipe(shapelessRecipeData));
                     }
@@ -118,7 +177,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     ItemData[][] inputCombinations = combinations(session, shapedRecipeData.getIngredients());
                     for (ItemData[] inputs : inputCombinations) {
                         UUID uuid = UUID.randomUUID();
-                        craftingDataPacket.getCraftingData().add(CraftingData.fromShaped(uuid.toString(),
+                        craftingData.add(CraftingData.fromShaped(uuid.toString(),
                                 shapedRecipeData.getWidth(), shapedRecipeData.getHeight(), Arrays.asList(inputs),
                                 Collections.singletonList(output), uuid, "crafting_table", 0, netId));
                         recipeMap.put(netId++, new GeyserShapedRecipe(shapedRecipeData));
@@ -150,22 +209,21 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                             ItemData bedrockAddition = ItemTranslator.translateToBedrock(session, addition);
 
                             UUID uuid = UUID.randomUUID();
-                            craftingDataPacket.getCraftingData().add(CraftingData.fromShapeless(uuid.toString(),
+                            craftingData.add(CraftingData.fromShapeless(uuid.toString(),
                                     Arrays.asList(bedrockBase, bedrockAddition),
                                     Collections.singletonList(output), uuid, "smithing_table", 2, netId++));
                         }
                     }
                 }
                 default -> {
-                    List<CraftingData> craftingData = recipeTypes.get(recipe.getType());
-                    if (craftingData != null) {
-                        craftingDataPacket.getCraftingData().addAll(craftingData);
+                    List<CraftingData> pregeneratedData = recipeTypes.get(recipe.getType());
+                    if (pregeneratedData != null) {
+                        craftingData.addAll(pregeneratedData);
                     }
                 }
             }
         }
-        craftingDataPacket.getCraftingData().addAll(CARTOGRAPHY_RECIPES);
-        craftingDataPacket.getPotionMixData().addAll(Registries.POTION_MIXES.get());
+        craftingData.addAll(CARTOGRAPHY_RECIPES);
 
         Int2ObjectMap<IntList> stonecutterRecipeMap = new Int2ObjectOpenHashMap<>();
         for (Int2ObjectMap.Entry<List<StoneCuttingRecipeData>> data : unsortedStonecutterData.int2ObjectEntrySet()) {
@@ -188,7 +246,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                 UUID uuid = UUID.randomUUID();
 
                 // We need to register stonecutting recipes so they show up on Bedrock
-                craftingDataPacket.getCraftingData().add(CraftingData.fromShapeless(uuid.toString(),
+                craftingData.add(CraftingData.fromShapeless(uuid.toString(),
                         Collections.singletonList(input), Collections.singletonList(output), uuid, "stonecutter", 0, netId++));
 
                 // Save the recipe list for reference when crafting
@@ -198,10 +256,8 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
             }
         }
 
-        session.sendUpstreamPacket(craftingDataPacket);
-        session.setCraftingRecipes(recipeMap);
-        session.setStonecutterRecipes(stonecutterRecipeMap);
-        session.getLastRecipeNetId().set(netId);
+        return new TranslatedRecipes(Collections.unmodifiableList(craftingData), recipeMap,
+                Int2ObjectMaps.unmodifiable(stonecutterRecipeMap), netId);
     }
 
     //TODO: rewrite
@@ -285,6 +341,19 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
         return combinations;
     }
 
+    /**
+     * Everything that changes how recipes are translated.
+     */
+    private record RecipesKey(HashCode packetDigest, int protocolVersion, String locale, boolean advancedTooltips) {
+    }
+
+    /**
+     * @param recipeMap must be copied before it is given to a session
+     */
+    private record TranslatedRecipes(List<CraftingData> craftingData, Int2ObjectMap<GeyserRecipe> recipeMap,
+                                     Int2ObjectMap<IntList> stonecutterRecipes, int lastNetId) {
+    }
+
     @EqualsAndHashCode
     @AllArgsConstructor
     private static class GroupedItem {
@@ -81,7 +81,7 @@ public class JavaPlayerInfoTranslator extends PacketTranslator<ClientboundPlayer
 
                         session.getEntityCache().addPlayerEntity(playerEntity);
                     } else {
-                        playerEntity.setUsername(profile.getName());
+                        session.getEntityCache().updateUsername(playerEntity, profile.getName());
                         playerEntity.setTexturesProperty(texturesProperty);
                     }
 
@@ -25,12 +25,8 @@
 
 package org.geysermc.geyser.translator.protocol.java.level;
 
-import com.github.steveice10.mc.protocol.data.game.chunk.BitStorage;
 import com.github.steveice10.mc.protocol.data.game.chunk.ChunkSection;
 import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
-import com.github.steveice10.mc.protocol.data.game.chunk.palette.GlobalPalette;
-import com.github.steveice10.mc.protocol.data.game.chunk.palette.Palette;
-import com.github.steveice10.mc.protocol.data.game.chunk.palette.SingletonPalette;
 import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityInfo;
 import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityType;
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
@@ -47,12 +43,16 @@ import com.nukkitx.protocol.bedrock.v475.Bedrock_v475;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ClientBlobCache;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.translator.level.BiomeTranslator;
@@ -61,6 +61,9 @@ import org.geysermc.geyser.translator.level.block.entity.BedrockOnlyBlockEntity;
 import org.geysermc.geyser.translator.level.block.entity.BlockEntityTranslator;
 import org.geysermc.geyser.translator.level.block.entity.SkullBlockEntityTranslator;
 import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.ChunkEncoder;
+import org.geysermc.geyser.level.chunk.ChunkSectionCache;
+import org.geysermc.geyser.level.chunk.CompactSection;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
@@ -89,30 +92,50 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         int chunkSize = session.getChunkCache().getChunkHeightY();
         int biomeGlobalPalette = session.getBiomeGlobalPalette();
 
-        DataPalette[] javaChunks = new DataPalette[chunkSize];
+        CompactSection[] javaChunks = new CompactSection[chunkSize];
         DataPalette[] javaBiomes = new DataPalette[chunkSize];
 
         final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
         final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(blockEntities.length);
 
-        BitSet waterloggedPaletteIds = new BitSet();
-        BitSet pistonOrFlowerPaletteIds = new BitSet();
-
         boolean overworld = session.getChunkCache().isExtendedHeight();
         int maxBedrockSectionY = ((overworld ? MAXIMUM_ACCEPTED_HEIGHT_OVERWORLD : MAXIMUM_ACCEPTED_HEIGHT) >> 4) - 1;
 
+        // The client asks for the sections it needs later, so only biomes are sent with the column
+        boolean requestSubChunks = ChunkUtils.useSubChunkRequests(session);
+        boolean useBlobCache = !requestSubChunks && session.getClientBlobCache().isEnabled();
+        LongList blobIds = useBlobCache ? new LongArrayList() : null;
+
         int sectionCount;
         byte[] payload;
         ByteBuf byteBuf = null;
         GeyserChunkSection[] sections = new GeyserChunkSection[javaChunks.length - (yOffset + ((overworld ? MINIMUM_ACCEPTED_HEIGHT_OVERWORLD : MINIMUM_ACCEPTED_HEIGHT) >> 4))];
 
+        // Sections that another session has already translated with the same block mappings
+        boolean useSectionCache = !requestSubChunks && ChunkSectionCache.isEnabled();
+        byte[][] cachedSections = useSectionCache ? new byte[sections.length][] : null;
+        long[] javaSectionHashes = useSectionCache ? new long[sections.length] : null;
+        int[] javaSectionOffsets = useSectionCache ? new int[sections.length] : null;
+        int[] javaSectionLengths = useSectionCache ? new int[sections.length] : null;
+        BitSet cacheableSections = new BitSet();
+
+        CompactSection[] javaSectionsToTranslate = new CompactSection[sections.length];
+        BitSet pendingSections = new BitSet();
+
         try {
-            NetInput in = new StreamNetInput(new ByteArrayInputStream(packet.getChunkData()));
+            byte[] chunkData = packet.getChunkData();
+            ByteArrayInputStream chunkStream = new ByteArrayInputStream(chunkData);
+            NetInput in = new StreamNetInput(chunkStream);
             for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+                int javaSectionOffset = chunkData.length - chunkStream.available();
                 ChunkSection javaSection = ChunkSection.read(in, biomeGlobalPalette);
-                javaChunks[sectionY] = javaSection.getChunkData();
+                javaChunks[sectionY] = CompactSection.from(javaSection.getChunkData());
                 javaBiomes[sectionY] = javaSection.getBiomeData();
 
+                if (requestSubChunks) {
+                    continue;
+                }
+
                 int bedrockSectionY = sectionY + (yOffset - ((overworld ? MINIMUM_ACCEPTED_HEIGHT_OVERWORLD : MINIMUM_ACCEPTED_HEIGHT) >> 4));
                 if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
                     // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
@@ -124,126 +147,43 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     continue;
                 }
 
-                Palette javaPalette = javaSection.getChunkData().getPalette();
-                BitStorage javaData = javaSection.getChunkData().getStorage();
-
-                if (javaPalette instanceof GlobalPalette) {
-                    // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAirId());
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int javaId = javaData.get(yzx);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                        int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
-
-                        if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWaterId());
-                        }
-
-                        // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                        if (BlockStateValues.getFlowerPotValues().containsKey(javaId) || BlockStateValues.getPistonValues().containsKey(javaId)) {
-                            bedrockBlockEntities.add(BedrockOnlyBlockEntity.getTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    javaId
-                            ));
-                        }
-                    }
-                    sections[bedrockSectionY] = section;
-                    continue;
-                }
-
-                if (javaPalette instanceof SingletonPalette) {
-                    // There's only one block here. Very easy!
-                    int javaId = javaPalette.idToState(0);
-                    int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                    BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
-
-                    if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
-                        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWaterId()));
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged});
-                    } else {
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage});
-                    }
-                    // If a chunk contains all of the same piston or flower pot then god help us
-                    continue;
-                }
-
-                IntList bedrockPalette = new IntArrayList(javaPalette.size());
-                waterloggedPaletteIds.clear();
-                pistonOrFlowerPaletteIds.clear();
-
-                // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
-                for (int i = 0; i < javaPalette.size(); i++) {
-                    int javaId = javaPalette.idToState(i);
-                    bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
-
-                    if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
-                        waterloggedPaletteIds.set(i);
-                    }
-
-                    // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                    if (BlockStateValues.getFlowerPotValues().containsKey(javaId) || BlockStateValues.getPistonValues().containsKey(javaId)) {
-                        pistonOrFlowerPaletteIds.set(i);
-                    }
-                }
-
-                // Add Bedrock-exclusive block entities
-                // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
-                // for no reason, as most sections will not contain any pistons or flower pots
-                if (!pistonOrFlowerPaletteIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        if (pistonOrFlowerPaletteIds.get(paletteId)) {
-                            bedrockBlockEntities.add(BedrockOnlyBlockEntity.getTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    javaPalette.idToState(paletteId)
-                            ));
-                        }
+                if (useSectionCache) {
+                    int javaSectionLength = chunkData.length - chunkStream.available() - javaSectionOffset;
+                    long hash = ChunkSectionCache.hash(session.getBlockMappings(), chunkData, javaSectionOffset, javaSectionLength);
+                    byte[] cached = ChunkSectionCache.get(session.getBlockMappings(), hash, chunkData, javaSectionOffset, javaSectionLength);
+                    if (cached != null) {
+                        cachedSections[bedrockSectionY] = cached;
+                        continue;
                     }
-                }
 
-                BitArray bedrockData = BitArrayVersion.forBitsCeil(javaData.getBitsPerEntry()).createArray(BlockStorage.SIZE);
-                BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
-                BlockStorage[] layers;
-
-                // Convert data array from YZX to XZY coordinate order
-                if (waterloggedPaletteIds.isEmpty()) {
-                    // No blocks are waterlogged, simply convert coordinate order
-                    // This could probably be optimized further...
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        bedrockData.set(indexYZXtoXZY(yzx), javaData.get(yzx));
-                    }
-
-                    layers = new BlockStorage[]{ layer0 };
-                } else {
-                    // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
-                    // layer 1 with palette ID 1 indicating water
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
-                    }
-
-                    // V1 palette
-                    IntList layer1Palette = new IntArrayList(2);
-                    layer1Palette.add(session.getBlockMappings().getBedrockAirId()); // Air - see BlockStorage's constructor for more information
-                    layer1Palette.add(session.getBlockMappings().getBedrockWaterId());
-
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+                    javaSectionHashes[bedrockSectionY] = hash;
+                    javaSectionOffsets[bedrockSectionY] = javaSectionOffset;
+                    javaSectionLengths[bedrockSectionY] = javaSectionLength;
+                    cacheableSections.set(bedrockSectionY);
                 }
 
-                sections[bedrockSectionY] = new GeyserChunkSection(layers);
+                javaSectionsToTranslate[bedrockSectionY] = javaChunks[sectionY];
+                pendingSections.set(bedrockSectionY);
             }
 
-            session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
-
+            // Remap and encode the sections that weren't cached, in parallel if enabled
             final int chunkBlockX = packet.getX() << 4;
             final int chunkBlockZ = packet.getZ() << 4;
+            final int dimensionSectionOffset = (overworld ? MINIMUM_ACCEPTED_HEIGHT_OVERWORLD : MINIMUM_ACCEPTED_HEIGHT) >> 4;
+            TranslatedSection[] translatedSections = new TranslatedSection[sections.length];
+            ChunkEncoder.encode(translatedSections, pendingSections, bedrockSectionY -> translateSection(session,
+                    javaSectionsToTranslate[bedrockSectionY], chunkBlockX, (bedrockSectionY + dimensionSectionOffset) << 4, chunkBlockZ));
+
+            for (int i = pendingSections.nextSetBit(0); i >= 0; i = pendingSections.nextSetBit(i + 1)) {
+                TranslatedSection translated = translatedSections[i];
+                sections[i] = translated.section();
+                if (!translated.bedrockOnlyBlockEntities().isEmpty()) {
+                    bedrockBlockEntities.addAll(translated.bedrockOnlyBlockEntities());
+                    // These tags depend on the section's position
+                    cacheableSections.clear(i);
+                }
+            }
+
             for (BlockEntityInfo blockEntity : blockEntities) {
                 BlockEntityType type = blockEntity.getType();
                 if (type == null) {
@@ -257,7 +197,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 int z = blockEntity.getZ(); // Relative to chunk
 
                 // Get the Java block state ID from block entity position
-                DataPalette section = javaChunks[(y >> 4) - yOffset];
+                CompactSection section = javaChunks[(y >> 4) - yOffset];
                 int blockState = section.get(x, y & 0xF, z);
 
                 if (type == BlockEntityType.LECTERN && BlockStateValues.getLecternBookStates().get(blockState)) {
@@ -276,18 +216,27 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 }
             }
 
+            if (requestSubChunks) {
+                // Sent along with the sub-chunks they are in
+                session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks, bedrockBlockEntities);
+            } else {
+                session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
+            }
+
             // Find highest section
             sectionCount = sections.length - 1;
-            while (sectionCount >= 0 && sections[sectionCount] == null) {
+            while (sectionCount >= 0 && sections[sectionCount] == null && (cachedSections == null || cachedSections[sectionCount] == null)) {
                 sectionCount--;
             }
             sectionCount++;
 
             // Estimate chunk size
             int size = 0;
-            for (int i = 0; i < sectionCount; i++) {
+            for (int i = 0; i < sectionCount && !useBlobCache; i++) {
                 GeyserChunkSection section = sections[i];
-                if (section != null) {
+                if (cachedSections != null && cachedSections[i] != null) {
+                    size += cachedSections[i].length;
+                } else if (section != null) {
                     size += section.estimateNetworkSize();
                 } else {
                     size += SERIALIZED_CHUNK_DATA.length;
@@ -296,18 +245,40 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             size += ChunkUtils.EMPTY_CHUNK_DATA.length; // Consists only of biome data
             size += 1; // Border blocks
             size += 1; // Extra data length (always 0)
-            size += bedrockBlockEntities.size() * 64; // Conservative estimate of 64 bytes per tile entity
+            if (!requestSubChunks) {
+                size += bedrockBlockEntities.size() * 64; // Conservative estimate of 64 bytes per tile entity
+            }
 
-            // Allocate output buffer
-            byteBuf = ByteBufAllocator.DEFAULT.buffer(size);
+            // Allocate output buffer - on the heap, as it has to be copied into a byte array for the protocol library
+            byteBuf = ByteBufAllocator.DEFAULT.heapBuffer(size);
+            ClientBlobCache blobCache = session.getClientBlobCache();
             for (int i = 0; i < sectionCount; i++) {
                 GeyserChunkSection section = sections[i];
-                if (section != null) {
+                byte[] encoded = cachedSections != null ? cachedSections[i] : null;
+                if (encoded == null && section == null) {
+                    encoded = SERIALIZED_CHUNK_DATA;
+                }
+
+                if (encoded == null) {
+                    int sectionStart = byteBuf.writerIndex();
                     section.writeToNetwork(byteBuf);
+                    if (cacheableSections.get(i)) {
+                        encoded = ByteBufUtil.getBytes(byteBuf, sectionStart, byteBuf.writerIndex() - sectionStart);
+                        ChunkSectionCache.put(session.getBlockMappings(), javaSectionHashes[i], chunkData, javaSectionOffsets[i], javaSectionLengths[i], encoded);
+                    }
+                    if (useBlobCache) {
+                        // Sections are sent as blobs and aren't part of the payload
+                        blobIds.add(encoded != null ? blobCache.registerBlob(encoded) : blobCache.registerBlob(byteBuf, sectionStart, byteBuf.writerIndex() - sectionStart));
+                        byteBuf.writerIndex(sectionStart);
+                    }
+                } else if (useBlobCache) {
+                    // Already encoded arrays are never modified, so they can be handed to the blob cache as they are
+                    blobIds.add(blobCache.registerBlob(encoded));
                 } else {
-                    byteBuf.writeBytes(SERIALIZED_CHUNK_DATA);
+                    byteBuf.writeBytes(encoded);
                 }
             }
+            int biomeOffset = byteBuf.writerIndex();
 
             // As of 1.17.10, Bedrock hardcodes to always read 32 biome sections
             // As of 1.18, this hardcode was lowered to 25
@@ -336,16 +307,25 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
             }
 
+            if (useBlobCache) {
+                // The biomes as a whole are the last blob. Only the remaining data goes into the packet.
+                blobIds.add(blobCache.registerBlob(byteBuf, biomeOffset, byteBuf.writerIndex() - biomeOffset));
+                byteBuf.writerIndex(biomeOffset);
+            }
+
             byteBuf.writeByte(0); // Border blocks - Edu edition only
             VarInts.writeUnsignedInt(byteBuf, 0); // extra data length, 0 for now
 
-            // Encode tile entities into buffer
-            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
-            for (NbtMap blockEntity : bedrockBlockEntities) {
-                nbtStream.writeTag(blockEntity);
+            if (!requestSubChunks) {
+                // Encode tile entities into buffer
+                NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
+                for (NbtMap blockEntity : bedrockBlockEntities) {
+                    nbtStream.writeTag(blockEntity);
+                }
             }
 
             // Copy data into byte[], because the protocol lib really likes things that are s l o w
+            // LevelChunkPacket can only carry a byte array, so this is the one copy of the payload we can't avoid
             byteBuf.readBytes(payload = new byte[byteBuf.readableBytes()]);
         } catch (IOException e) {
             session.getGeyser().getLogger().error("IO error while encoding chunk", e);
@@ -357,8 +337,16 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         }
 
         LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
-        levelChunkPacket.setSubChunksLength(sectionCount);
-        levelChunkPacket.setCachingEnabled(false);
+        if (requestSubChunks) {
+            levelChunkPacket.setRequestSubChunks(true);
+            levelChunkPacket.setSubChunkLimit(sections.length);
+        } else {
+            levelChunkPacket.setSubChunksLength(sectionCount);
+        }
+        levelChunkPacket.setCachingEnabled(useBlobCache);
+        if (useBlobCache) {
+            levelChunkPacket.getBlobIds().addAll(blobIds);
+        }
         levelChunkPacket.setChunkX(packet.getX());
         levelChunkPacket.setChunkZ(packet.getZ());
         levelChunkPacket.setData(payload);
@@ -373,4 +361,134 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Translates a single Java chunk section to Bedrock. This may be called off of the session's event loop, so it must
+     * only read from the session. Also used to answer sub-chunk requests.
+     *
+     * @param blockX the block X coordinate of the chunk
+     * @param blockY the block Y coordinate of the bottom of this section
+     * @param blockZ the block Z coordinate of the chunk
+     */
+    public static TranslatedSection translateSection(GeyserSession session, CompactSection javaSection, int blockX, int blockY, int blockZ) {
+        List<NbtMap> bedrockOnlyBlockEntities = Collections.emptyList();
+
+        if (javaSection.isDirect()) {
+            // As this is the global palette, simply iterate through the whole chunk section once
+            GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAirId());
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int javaId = javaSection.get(yzx);
+                int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+                int xzy = indexYZXtoXZY(yzx);
+                section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
+
+                if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
+                    section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWaterId());
+                }
+
+                // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                if (BlockStateValues.getFlowerPotValues().containsKey(javaId) || BlockStateValues.getPistonValues().containsKey(javaId)) {
+                    if (bedrockOnlyBlockEntities.isEmpty()) {
+                        bedrockOnlyBlockEntities = new ObjectArrayList<>();
+                    }
+                    bedrockOnlyBlockEntities.add(BedrockOnlyBlockEntity.getTag(session,
+                            Vector3i.from(blockX + (yzx & 0xF), blockY + ((yzx >> 8) & 0xF), blockZ + ((yzx >> 4) & 0xF)),
+                            javaId
+                    ));
+                }
+            }
+            return new TranslatedSection(section, bedrockOnlyBlockEntities);
+        }
+
+        if (javaSection.isSingleton()) {
+            // There's only one block here. Very easy!
+            int javaId = javaSection.get(0);
+            int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+            BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
+
+            GeyserChunkSection section;
+            if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
+                BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWaterId()));
+                section = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged});
+            } else {
+                section = new GeyserChunkSection(new BlockStorage[] {blockStorage});
+            }
+            // If a chunk contains all of the same piston or flower pot then god help us
+            return new TranslatedSection(section, bedrockOnlyBlockEntities);
+        }
+
+        IntList bedrockPalette = new IntArrayList(javaSection.getPaletteSize());
+        BitSet waterloggedPaletteIds = new BitSet();
+        BitSet pistonOrFlowerPaletteIds = new BitSet();
+
+        // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
+        for (int i = 0; i < javaSection.getPaletteSize(); i++) {
+            int javaId = javaSection.paletteIdToState(i);
+            bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+
+            if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
+                waterloggedPaletteIds.set(i);
+            }
+
+            // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+            if (BlockStateValues.getFlowerPotValues().containsKey(javaId) || BlockStateValues.getPistonValues().containsKey(javaId)) {
+                pistonOrFlowerPaletteIds.set(i);
+            }
+        }
+
+        int[] javaValues = new int[BlockStorage.SIZE];
+        unpackJavaData(javaSection.getData(), javaSection.getBitsPerEntry(), javaValues);
+
+        // Add Bedrock-exclusive block entities
+        // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
+        // for no reason, as most sections will not contain any pistons or flower pots
+        if (!pistonOrFlowerPaletteIds.isEmpty()) {
+            bedrockOnlyBlockEntities = new ObjectArrayList<>();
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int paletteId = javaValues[yzx];
+                if (pistonOrFlowerPaletteIds.get(paletteId)) {
+                    bedrockOnlyBlockEntities.add(BedrockOnlyBlockEntity.getTag(session,
+                            Vector3i.from(blockX + (yzx & 0xF), blockY + ((yzx >> 8) & 0xF), blockZ + ((yzx >> 4) & 0xF)),
+                            javaSection.paletteIdToState(paletteId)
+                    ));
+                }
+            }
+        }
+
+        BitArray bedrockData = BitArrayVersion.forBitsCeil(javaSection.getBitsPerEntry()).createArray(BlockStorage.SIZE);
+        BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+        BlockStorage[] layers;
+
+        // Convert data array from YZX to XZY coordinate order
+        bedrockData.setAllFromYZX(javaValues);
+        if (waterloggedPaletteIds.isEmpty()) {
+            // No blocks are waterlogged
+            layers = new BlockStorage[]{ layer0 };
+        } else {
+            // The section contains waterlogged blocks, we need to generate a V1 block storage for
+            // layer 1 with palette ID 1 indicating water
+            int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                if (waterloggedPaletteIds.get(javaValues[yzx])) {
+                    int xzy = indexYZXtoXZY(yzx);
+                    layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+                }
+            }
+
+            // V1 palette
+            IntList layer1Palette = new IntArrayList(2);
+            layer1Palette.add(session.getBlockMappings().getBedrockAirId()); // Air - see BlockStorage's constructor for more information
+            layer1Palette.add(session.getBlockMappings().getBedrockWaterId());
+
+            layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+        }
+
+        return new TranslatedSection(new GeyserChunkSection(layers), bedrockOnlyBlockEntities);
+    }
+
+    /**
+     * @param bedrockOnlyBlockEntities the tags of any blocks in this section that are only block entities on Bedrock
+     */
+    public record TranslatedSection(GeyserChunkSection section, List<NbtMap> bedrockOnlyBlockEntities) {
+    }
+}
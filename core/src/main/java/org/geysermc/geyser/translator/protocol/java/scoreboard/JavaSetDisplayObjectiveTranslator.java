@@ -31,7 +31,6 @@ import org.geysermc.geyser.session.cache.WorldCache;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.scoreboard.Scoreboard;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 
 @Translator(packet = ClientboundSetDisplayObjectivePacket.class)
 public class JavaSetDisplayObjectiveTranslator extends PacketTranslator<ClientboundSetDisplayObjectivePacket> {
@@ -40,14 +39,10 @@ public class JavaSetDisplayObjectiveTranslator extends PacketTranslator<Clientbo
     public void translate(GeyserSession session, ClientboundSetDisplayObjectivePacket packet) {
         WorldCache worldCache = session.getWorldCache();
         Scoreboard scoreboard = worldCache.getScoreboard();
-        int pps = worldCache.increaseAndGetScoreboardPacketsPerSecond();
 
         scoreboard.displayObjective(packet.getName(), packet.getPosition());
 
-        // ScoreboardUpdater will handle it for us if the packets per second
-        // (for score and team packets) is higher than the first threshold
-        if (pps < ScoreboardUpdater.FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-            scoreboard.onUpdate();
-        }
+        // Sent right away, unless the server is sending so many score and team packets that they are batched
+        worldCache.getScoreboardUpdater().requestUpdate();
     }
 }
@@ -39,7 +39,6 @@ import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.scoreboard.Objective;
 import org.geysermc.geyser.scoreboard.Scoreboard;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.text.GeyserLocale;
 
 @Translator(packet = ClientboundSetScorePacket.class)
@@ -54,7 +53,6 @@ public class JavaSetScoreTranslator extends PacketTranslator<ClientboundSetScore
     public void translate(GeyserSession session, ClientboundSetScorePacket packet) {
         WorldCache worldCache = session.getWorldCache();
         Scoreboard scoreboard = worldCache.getScoreboard();
-        int pps = worldCache.increaseAndGetScoreboardPacketsPerSecond();
 
         Objective objective = scoreboard.getObjective(packet.getObjective());
         if (objective == null && packet.getAction() != ScoreboardAction.REMOVE) {
@@ -98,11 +96,8 @@ public class JavaSetScoreTranslator extends PacketTranslator<ClientboundSetScore
             }
         }
 
-        // ScoreboardUpdater will handle it for us if the packets per second
-        // (for score and team packets) is higher than the first threshold
-        if (pps < ScoreboardUpdater.FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-            scoreboard.onUpdate();
-        }
+        // Sent right away, unless the server is sending so many score and team packets that they are batched
+        worldCache.getScoreboardUpdater().requestUpdate();
     }
 
     /**
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.geysermc.geyser.translator.text.MessageTranslator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the global translator metrics in the Prometheus text format on {@code /metrics}.
+ * Only binds to the loopback address - per-session metrics are available through the metrics command instead.
+ */
+final class PrometheusEndpoint {
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+    /**
+     * Bounds of the exported histogram buckets, from about a microsecond to 17 seconds in steps of four. Each is
+     * 2^n - 1 nanoseconds so it lines up with the edge of a {@link LatencyHistogram} bucket, and every packet type
+     * always exports the same series.
+     */
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[13];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (1L << (10 + 2 * i)) - 1;
+        }
+    }
+
+    private final HttpServer server;
+
+    private PrometheusEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    static PrometheusEndpoint start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", PrometheusEndpoint::handle);
+        // Requests are handled on the thread that accepts them
+        server.setExecutor(null);
+        server.start();
+        return new PrometheusEndpoint(server);
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] body = (write(TranslatorMetrics.global()) + writeMessageCache()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(body);
+        }
+    }
+
+    static String write(TranslatorMetrics metrics) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("# HELP geyser_translator_seconds Time spent translating each packet type.\n");
+        builder.append("# TYPE geyser_translator_seconds histogram\n");
+        for (PacketMetrics packet : metrics.getPackets()) {
+            String label = "packet=\"" + packet.getPacketClass().getSimpleName() + "\"";
+            LatencyHistogram latency = packet.getLatency();
+            long[] counts = latency.getCumulativeCounts(BUCKET_BOUNDS_NANOS);
+            for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+                builder.append("geyser_translator_seconds_bucket{").append(label).append(",le=\"")
+                        .append(BUCKET_BOUNDS_NANOS[i] / NANOS_PER_SECOND).append("\"} ").append(counts[i]).append('\n');
+            }
+            long count = counts[BUCKET_BOUNDS_NANOS.length];
+            builder.append("geyser_translator_seconds_bucket{").append(label).append(",le=\"+Inf\"} ").append(count).append('\n');
+            builder.append("geyser_translator_seconds_sum{").append(label).append("} ").append(latency.getTotalNanos() / NANOS_PER_SECOND).append('\n');
+            builder.append("geyser_translator_seconds_count{").append(label).append("} ").append(count).append('\n');
+        }
+
+        builder.append("# HELP geyser_translator_allocated_bytes_total Bytes allocated while translating each packet type.\n");
+        builder.append("# TYPE geyser_translator_allocated_bytes_total counter\n");
+        for (PacketMetrics packet : metrics.getPackets()) {
+            builder.append("geyser_translator_allocated_bytes_total{packet=\"").append(packet.getPacketClass().getSimpleName())
+                    .append("\"} ").append(packet.getAllocatedBytes().sum()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String writeMessageCache() {
+        return "# HELP geyser_message_render_cache_total Lookups in the rendered chat message cache.\n" +
+                "# TYPE geyser_message_render_cache_total counter\n" +
+                "geyser_message_render_cache_total{result=\"hit\"} " + MessageTranslator.getRenderCacheHits() + '\n' +
+                "geyser_message_render_cache_total{result=\"miss\"} " + MessageTranslator.getRenderCacheMisses() + '\n' +
+                "# HELP geyser_message_plain_text_total Chat messages that were plain text and needed no rendering.\n" +
+                "# TYPE geyser_message_plain_text_total counter\n" +
+                "geyser_message_plain_text_total " + MessageTranslator.getPlainTextMessages() + '\n';
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.metrics;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in counters, latency histograms and allocation totals for packet translators, kept per session and for the
+ * whole proxy. Everything is recorded from {@link org.geysermc.geyser.registry.PacketTranslatorRegistry}.
+ */
+public final class TranslatorMetrics {
+    private static final TranslatorMetrics GLOBAL = new TranslatorMetrics();
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private static volatile boolean enabled = false;
+    private static boolean trackAllocations = false;
+    private static PrometheusEndpoint endpoint = null;
+
+    private final Map<Class<?>, PacketMetrics> packets = new ConcurrentHashMap<>();
+
+    public static void init(GeyserConfiguration config) {
+        shutdown();
+
+        enabled = config.isEnableTranslatorMetrics();
+        trackAllocations = THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported()
+                && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled();
+        GLOBAL.packets.clear();
+
+        if (enabled && config.getTranslatorMetricsPort() > 0) {
+            try {
+                endpoint = PrometheusEndpoint.start(config.getTranslatorMetricsPort());
+            } catch (Exception e) {
+                GeyserImpl.getInstance().getLogger().error("Unable to start the translator metrics endpoint", e);
+            }
+        }
+    }
+
+    public static void shutdown() {
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static TranslatorMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or 0 if this isn't supported by the JVM
+     */
+    public static long allocatedBytes() {
+        return trackAllocations ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    public static void record(GeyserSession session, Class<?> packetClass, long nanos, long allocatedBytes) {
+        GLOBAL.get(packetClass).record(nanos, allocatedBytes);
+        session.getTranslatorMetrics().get(packetClass).record(nanos, allocatedBytes);
+    }
+
+    PacketMetrics get(Class<?> packetClass) {
+        PacketMetrics metrics = packets.get(packetClass);
+        if (metrics == null) {
+            metrics = packets.computeIfAbsent(packetClass, PacketMetrics::new);
+        }
+        return metrics;
+    }
+
+    public Collection<PacketMetrics> getPackets() {
+        return packets.values();
+    }
+
+    /**
+     * @return the translators that have taken the most time in total, slowest first
+     */
+    public List<PacketMetrics> getSlowest(int limit) {
+        List<PacketMetrics> sorted = new ArrayList<>(packets.values());
+        sorted.sort(Comparator.comparingLong((PacketMetrics metrics) -> metrics.getLatency().getTotalNanos()).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean) {
+                return threadMXBean;
+            }
+        } catch (Throwable ignored) {
+            // Not available on this JVM
+        }
+        return null;
+    }
+}
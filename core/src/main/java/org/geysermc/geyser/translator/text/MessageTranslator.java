@@ -27,7 +27,10 @@ package org.geysermc.geyser.translator.text;
 
 import com.github.steveice10.mc.protocol.data.DefaultComponentSerializer;
 import com.github.steveice10.mc.protocol.data.game.scoreboard.TeamColor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
@@ -38,6 +41,7 @@ import org.geysermc.geyser.text.*;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public class MessageTranslator {
     // These are used for handling the translations of the messages
@@ -56,6 +60,15 @@ public class MessageTranslator {
     // Reset character
     private static final String RESET = BASE + "r";
 
+    /**
+     * Rendered messages by component and locale. The same titles, scoreboard lines and boss bars are sent over and over.
+     */
+    private static final Cache<RenderedMessageKey, String> RENDERED_MESSAGES = CacheBuilder.newBuilder()
+            .maximumSize(4096)
+            .recordStats()
+            .build();
+    private static final LongAdder PLAIN_TEXT_MESSAGES = new LongAdder();
+
     static {
         TEAM_COLORS.put(TeamColor.RESET, RESET);
 
@@ -102,40 +115,31 @@ public class MessageTranslator {
      * @return Parsed and formatted message for bedrock
      */
     public static String convertMessage(Component message, String locale) {
-        try {
-            // Translate any components that require it
-            message = RENDERER.render(message, locale);
-
-            String legacy = LegacyComponentSerializer.legacySection().serialize(message);
-
-            StringBuilder finalLegacy = new StringBuilder();
-            char[] legacyChars = legacy.toCharArray();
-            boolean lastFormatReset = false;
-            for (int i = 0; i < legacyChars.length; i++) {
-                char legacyChar = legacyChars[i];
-                if (legacyChar != ChatColor.ESCAPE || i >= legacyChars.length - 1) {
-                    // No special formatting for Bedrock needed
-                    // Or, we're at the end of the string
-                    finalLegacy.append(legacyChar);
-                    lastFormatReset = false;
-                    continue;
-                }
+        if (message instanceof TextComponent text && text.children().isEmpty() && text.style().isEmpty()) {
+            // Nothing to render, and the legacy form is just the text
+            PLAIN_TEXT_MESSAGES.increment();
+            String content = text.content();
+            return content.indexOf(ChatColor.ESCAPE) == -1 ? content : toBedrockFormatting(content);
+        }
 
-                char next = legacyChars[++i];
-                if (next != 'm' && next != 'n') {
-                    // Strikethrough and underline do not exist on Bedrock
-                    if ((next >= '0' && next <= '9') || (next >= 'a' && next <= 'f')) {
-                        // Append this color code, as well as a necessary reset code
-                        if (!lastFormatReset) {
-                            finalLegacy.append(RESET);
-                        }
-                    }
-                    finalLegacy.append(BASE).append(next);
+        try {
+            // Until the locale is loaded, messages are rendered with the default locale instead
+            RenderedMessageKey key = MinecraftLocale.isLocaleLoaded(locale) ? new RenderedMessageKey(message, locale) : null;
+            if (key != null) {
+                String rendered = RENDERED_MESSAGES.getIfPresent(key);
+                if (rendered != null) {
+                    return rendered;
                 }
-                lastFormatReset = next == 'r';
             }
 
-            return finalLegacy.toString();
+            // Translate any components that require it
+            Component renderedMessage = RENDERER.render(message, locale);
+
+            String legacy = toBedrockFormatting(LegacyComponentSerializer.legacySection().serialize(renderedMessage));
+            if (key != null) {
+                RENDERED_MESSAGES.put(key, legacy);
+            }
+            return legacy;
         } catch (Exception e) {
             GeyserImpl.getInstance().getLogger().debug(GSON_SERIALIZER.serialize(message));
             GeyserImpl.getInstance().getLogger().error("Failed to parse message", e);
@@ -144,6 +148,55 @@ public class MessageTranslator {
         }
     }
 
+    /**
+     * Removes formatting that Bedrock doesn't have, and resets formatting before colors like Java does.
+     */
+    private static String toBedrockFormatting(String legacy) {
+        StringBuilder finalLegacy = new StringBuilder();
+        char[] legacyChars = legacy.toCharArray();
+        boolean lastFormatReset = false;
+        for (int i = 0; i < legacyChars.length; i++) {
+            char legacyChar = legacyChars[i];
+            if (legacyChar != ChatColor.ESCAPE || i >= legacyChars.length - 1) {
+                // No special formatting for Bedrock needed
+                // Or, we're at the end of the string
+                finalLegacy.append(legacyChar);
+                lastFormatReset = false;
+                continue;
+            }
+
+            char next = legacyChars[++i];
+            if (next != 'm' && next != 'n') {
+                // Strikethrough and underline do not exist on Bedrock
+                if ((next >= '0' && next <= '9') || (next >= 'a' && next <= 'f')) {
+                    // Append this color code, as well as a necessary reset code
+                    if (!lastFormatReset) {
+                        finalLegacy.append(RESET);
+                    }
+                }
+                finalLegacy.append(BASE).append(next);
+            }
+            lastFormatReset = next == 'r';
+        }
+
+        return finalLegacy.toString();
+    }
+
+    public static long getRenderCacheHits() {
+        return RENDERED_MESSAGES.stats().hitCount();
+    }
+
+    public static long getRenderCacheMisses() {
+        return RENDERED_MESSAGES.stats().missCount();
+    }
+
+    /**
+     * @return how many messages were plain text, and so weren't rendered or cached
+     */
+    public static long getPlainTextMessages() {
+        return PLAIN_TEXT_MESSAGES.sum();
+    }
+
     public static String convertMessage(String message, String locale) {
         return convertMessage(GSON_SERIALIZER.deserialize(message), locale);
     }
@@ -257,4 +310,7 @@ public class MessageTranslator {
     public static void init() {
         // no-op
     }
+
+    private record RenderedMessageKey(Component message, String locale) {
+    }
 }
@@ -35,7 +35,9 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.level.block.entity.BedrockOnlyBlockEntity;
 import org.geysermc.geyser.translator.level.block.entity.BlockEntityTranslator;
 import org.geysermc.geyser.translator.level.block.entity.FlowerPotBlockEntityTranslator;
+import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.registry.type.BlockMapping;
 
 import javax.annotation.Nonnull;
 import java.util.HashMap;
@@ -89,6 +91,21 @@ public class BlockEntityUtils {
          return Registries.BLOCK_ENTITIES.get(type);
     }
 
+    /**
+     * @return whether this Java block state has a block entity on Java or on Bedrock
+     */
+    public static boolean hasBlockEntity(int javaBlockState) {
+        if (BlockRegistries.JAVA_BLOCKS.getOrDefault(javaBlockState, BlockMapping.AIR).isBlockEntity()) {
+            return true;
+        }
+        for (BedrockOnlyBlockEntity bedrockOnlyBlockEntity : BEDROCK_ONLY_BLOCK_ENTITIES) {
+            if (bedrockOnlyBlockEntity.isBlock(javaBlockState)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static void updateBlockEntity(GeyserSession session, @Nonnull NbtMap blockEntity, Position position) {
         updateBlockEntity(session, blockEntity, Vector3i.from(position.getX(), position.getY(), position.getZ()));
     }
@@ -98,5 +115,8 @@ public class BlockEntityUtils {
         blockEntityPacket.setBlockPosition(position);
         blockEntityPacket.setData(blockEntity);
         session.sendUpstreamPacket(blockEntityPacket);
+
+        // Keep it in sync for when the client next requests this sub-chunk
+        session.getChunkCache().updateBlockEntity(position, blockEntity);
     }
 }
@@ -33,12 +33,12 @@ import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.protocol.bedrock.packet.LevelChunkPacket;
 import com.nukkitx.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
 import com.nukkitx.protocol.bedrock.packet.UpdateBlockPacket;
+import com.nukkitx.protocol.bedrock.v486.Bedrock_v486;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntLists;
 import lombok.experimental.UtilityClass;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
-import org.geysermc.geyser.entity.type.player.SkullPlayerEntity;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
@@ -114,6 +114,30 @@ public class ChunkUtils {
         return (yzx >> 8) | (yzx & 0x0F0) | ((yzx & 0x00F) << 8);
     }
 
+    /**
+     * Unpacks Java block storage into one value per int, keeping Java's YZX order.
+     * Java entries never span across two longs, so each long holds {@code 64 / bitsPerEntry} entries.
+     */
+    public static void unpackJavaData(long[] data, int bitsPerEntry, int[] output) {
+        int valuesPerLong = 64 / bitsPerEntry;
+        long mask = (1L << bitsPerEntry) - 1L;
+        int index = 0;
+        for (long word : data) {
+            for (int i = 0; i < valuesPerLong && index < output.length; i++) {
+                output[index++] = (int) (word & mask);
+                word >>>= bitsPerEntry;
+            }
+        }
+    }
+
+    /**
+     * @return whether this session is sent chunk columns without their sections, and requests the sections it needs instead
+     */
+    public static boolean useSubChunkRequests(GeyserSession session) {
+        return session.getGeyser().getConfig().isUseSubChunkRequests() && session.getChunkCache().isCaching()
+                && session.getUpstream().getProtocolVersion() >= Bedrock_v486.V486_CODEC.getProtocolVersion();
+    }
+
     public static void updateChunkPosition(GeyserSession session, Vector3i position) {
         Vector2i chunkPos = session.getLastChunkPosition();
         Vector2i newChunkPos = Vector2i.from(position.getX() >> 4, position.getZ() >> 4);
@@ -160,11 +184,8 @@ public class ChunkUtils {
             // Otherwise, let's still store our reference to the item frame, but let the new block take precedence for now
         }
 
-        SkullPlayerEntity skull = session.getSkullCache().get(position);
-        if (skull != null && blockState != skull.getBlockState()) {
-            // Skull is gone
-            skull.despawnEntity(position);
-        }
+        // Remove the skull if it is gone
+        session.getSkullCache().updateBlock(position, blockState);
 
         // Prevent moving_piston from being placed
         // It's used for extending piston heads, but it isn't needed on Bedrock and causes pistons to flicker
@@ -71,6 +71,7 @@ public class DimensionUtils {
         session.getLodestoneCache().clear();
         session.getPistonCache().clear();
         session.getSkullCache().clear();
+        session.getClientBlobCache().clear();
 
         Vector3f pos = Vector3f.from(0, Short.MAX_VALUE, 0);
 
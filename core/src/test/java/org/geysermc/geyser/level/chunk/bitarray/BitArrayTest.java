@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.geyser.util.ChunkUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class BitArrayTest {
+    private static final int SECTION_SIZE = 4096;
+
+    @Test
+    public void testSetAllFromYZX() {
+        Random random = new Random(0x6E7365);
+        for (BitArrayVersion version : BitArrayVersion.values()) {
+            if (version == BitArrayVersion.V0) {
+                continue;
+            }
+
+            // A few random palettes, plus the largest value everywhere to catch overlapping bits
+            for (int run = 0; run < 4; run++) {
+                int[] yzxValues = new int[SECTION_SIZE];
+                for (int i = 0; i < SECTION_SIZE; i++) {
+                    yzxValues[i] = run == 0 ? version.getMaxEntryValue() : random.nextInt(version.getMaxEntryValue() + 1);
+                }
+
+                BitArray expected = version.createArray(SECTION_SIZE);
+                for (int yzx = 0; yzx < SECTION_SIZE; yzx++) {
+                    expected.set(ChunkUtils.indexYZXtoXZY(yzx), yzxValues[yzx]);
+                }
+
+                BitArray actual = version.createArray(SECTION_SIZE);
+                actual.setAllFromYZX(yzxValues);
+
+                Assert.assertArrayEquals("Words differ for " + version, expected.getWords(), actual.getWords());
+            }
+        }
+    }
+
+    @Test
+    public void testSingletonSetAllFromYZX() {
+        BitArray array = new SingletonBitArray();
+        array.setAllFromYZX(new int[SECTION_SIZE]);
+        Assert.assertEquals(0, array.getWords().length);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SkinHttpClientTest {
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExecutorService executor;
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void startServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200));
+        server.createContext("/missing", exchange -> respond(exchange, 404));
+        server.createContext("/broken", exchange -> respond(exchange, 500));
+        server.createContext("/slow", exchange -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, 200);
+        });
+        server.setExecutor(executor);
+        server.start();
+        baseUrl = "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        requests.incrementAndGet();
+        byte[] body = "texture".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private SkinHttpClient createClient() {
+        return new SkinHttpClient("Geyser-Test", Duration.ofSeconds(5), 2, 3, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void testLimitsRequestsPerHost() throws InterruptedException {
+        SkinHttpClient client = createClient();
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(client.get(baseUrl + "/slow"));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inFlight.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Give any request over the limit the chance to arrive
+        Thread.sleep(200);
+        Assert.assertEquals("Requests over the limit reached the server", 2, maxInFlight.get());
+
+        release.countDown();
+        for (CompletableFuture<byte[]> future : futures) {
+            Assert.assertEquals("texture", new String(future.join(), StandardCharsets.UTF_8));
+        }
+        Assert.assertEquals(6, requests.get());
+    }
+
+    @Test
+    public void testSkipsFailingHost() {
+        SkinHttpClient client = createClient();
+        String host = server.getAddress().getAddress().getHostAddress();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertThrows(CompletionException.class, () -> client.get(baseUrl + "/broken").join());
+        }
+
+        Assert.assertTrue(client.isSkipping(host));
+        Assert.assertThrows(CompletionException.class, () -> client.get(baseUrl + "/ok").join());
+        Assert.assertEquals("A request was sent to a host that should be skipped", 3, requests.get());
+    }
+
+    @Test
+    public void testMissingTexturesDoNotSkipHost() {
+        SkinHttpClient client = createClient();
+        for (int i = 0; i < 5; i++) {
+            Assert.assertThrows(CompletionException.class, () -> client.get(baseUrl + "/missing").join());
+        }
+
+        Assert.assertFalse(client.isSkipping(server.getAddress().getAddress().getHostAddress()));
+        Assert.assertEquals("texture", new String(client.get(baseUrl + "/ok").join(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class PrometheusEndpointTest {
+    private static final Pattern BUCKET_LABEL = Pattern.compile("geyser_translator_seconds_bucket\\{packet=\"String\",le=\"([^\"]+)\"}");
+
+    @Test
+    public void testSameBucketsInEveryScrape() {
+        TranslatorMetrics metrics = new TranslatorMetrics();
+        // A packet type with no values yet
+        metrics.get(String.class);
+        List<String> empty = bucketLabels(PrometheusEndpoint.write(metrics));
+
+        metrics.get(String.class).record(500, 0);
+        metrics.get(String.class).record(3_000_000, 0);
+        List<String> fast = bucketLabels(PrometheusEndpoint.write(metrics));
+
+        // Slower than the last bound
+        metrics.get(String.class).record(60_000_000_000L, 0);
+        List<String> slow = bucketLabels(PrometheusEndpoint.write(metrics));
+
+        Assert.assertEquals(empty, fast);
+        Assert.assertEquals(fast, slow);
+        Assert.assertEquals("+Inf", slow.get(slow.size() - 1));
+    }
+
+    @Test
+    public void testCumulativeCounts() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1023);
+        histogram.record(1024);
+        histogram.record(5000);
+        histogram.record(Long.MAX_VALUE);
+
+        long[] counts = histogram.getCumulativeCounts(new long[] {1023, 4095, 16383});
+        Assert.assertArrayEquals(new long[] {1, 2, 3, 4}, counts);
+    }
+
+    private static List<String> bucketLabels(String scrape) {
+        List<String> labels = new ArrayList<>();
+        Matcher matcher = BUCKET_LABEL.matcher(scrape);
+        while (matcher.find()) {
+            labels.add(matcher.group(1));
+        }
+        return labels;
+    }
+}
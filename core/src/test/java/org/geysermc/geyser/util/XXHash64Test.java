@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+package org.geysermc.geyser.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class XXHash64Test {
+    @Test
+    public void testKnownAnswers() {
+        // Reference values from the xxHash specification and its Python bindings
+        Assert.assertEquals(0xEF46DB3751D8E999L, XXHash64.hash(new byte[0]));
+        Assert.assertEquals(0xD24EC4F1A98C6E5BL, XXHash64.hash(bytes("a")));
+        Assert.assertEquals(0x44BC2CF5AD770999L, XXHash64.hash(bytes("abc")));
+        // Longer than 32 bytes, so all four lanes are used
+        Assert.assertEquals(0xFBCEA83C8A378BF1L, XXHash64.hash(bytes("Nobody inspects the spammish repetition")));
+    }
+
+    @Test
+    public void testSeedAndOffset() {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Assert.assertEquals(0x6AC1E58032166597L, XXHash64.hash(data));
+        Assert.assertEquals(0xF96F532E91C7BCF4L, XXHash64.hash(data, 0, data.length, 123456789L));
+
+        // The same data somewhere else in a bigger array must hash the same
+        byte[] padded = new byte[data.length + 10];
+        System.arraycopy(data, 0, padded, 7, data.length);
+        Assert.assertEquals(0xF96F532E91C7BCF4L, XXHash64.hash(padded, 7, data.length, 123456789L));
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+}